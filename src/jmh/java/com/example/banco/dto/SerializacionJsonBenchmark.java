@@ -0,0 +1,55 @@
+package com.example.banco.dto;
+
+import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Serialización de los records de respuesta con el mismo JsonMapper de Jackson 3 que usa Spring.
+// La página de 50 transacciones es el tamaño por defecto de los listados.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacionJsonBenchmark {
+
+    private JsonMapper jsonMapper;
+    private TransaccionResponseDTO transaccion;
+    private CuentaResponseDTO cuenta;
+    private PaginaResponseDTO<TransaccionResponseDTO> pagina;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().findAndAddModules().build();
+        transaccion = transaccion(100L);
+        cuenta = new CuentaResponseDTO(10L, "CTA-00010", "CORRIENTE", "ACTIVA", 1L, "Juan Pérez", new BigDecimal("10000.00"));
+        List<TransaccionResponseDTO> contenido = LongStream.rangeClosed(1, 50).mapToObj(this::transaccion).toList();
+        pagina = new PaginaResponseDTO<>(contenido, contenido.size(), "MjAyNi0wMS0wMVQxMDowMHwxMjM");
+    }
+
+    @Benchmark
+    public byte[] transaccion() {
+        return jsonMapper.writeValueAsBytes(transaccion);
+    }
+
+    @Benchmark
+    public byte[] cuenta() {
+        return jsonMapper.writeValueAsBytes(cuenta);
+    }
+
+    @Benchmark
+    public byte[] paginaDeTransacciones() {
+        return jsonMapper.writeValueAsBytes(pagina);
+    }
+
+    private TransaccionResponseDTO transaccion(long id) {
+        return new TransaccionResponseDTO(id, "TRANSFERENCIA", "COMPLETADA", LocalDateTime.of(2026, 1, 1, 10, 0),
+                10L, "CTA-00010", 11L, "CTA-00011", new BigDecimal("250.00"), "Transferencia");
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.banco.mapper;
+
+import com.example.banco.dto.response.ClienteResponseDTO;
+import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.EstadoCliente;
+import com.example.banco.model.enums.EstadoCuenta;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappersBenchmark {
+
+    private Cliente cliente;
+    private Cuenta cuenta;
+    private Transaccion transaccion;
+
+    @Setup
+    public void setUp() {
+        cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNombre("Juan Pérez");
+        cliente.setDni("30111222");
+        cliente.setEmail("juan@example.com");
+        cliente.setTelefono("1155554444");
+        cliente.setEstado(EstadoCliente.ACTIVO);
+
+        cuenta = new Cuenta();
+        cuenta.setId(10L);
+        cuenta.setNroCuenta("CTA-00010");
+        cuenta.setCliente(cliente);
+        cuenta.setTipoCuenta(TipoCuenta.CORRIENTE);
+        cuenta.setEstadoCuenta(EstadoCuenta.ACTIVA);
+        cuenta.setSaldo(new BigDecimal("10000.00"));
+
+        Cuenta destino = new Cuenta();
+        destino.setId(11L);
+        destino.setNroCuenta("CTA-00011");
+
+        transaccion = new Transaccion();
+        transaccion.setId(100L);
+        transaccion.setTipoTransaccion(TipoTransaccion.TRANSFERENCIA);
+        transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+        transaccion.setFechaHora(LocalDateTime.now());
+        transaccion.setCuentaOrigen(cuenta);
+        transaccion.setCuentaDestino(destino);
+        transaccion.setMonto(new BigDecimal("250.00"));
+        transaccion.setDescripcion("Transferencia");
+    }
+
+    @Benchmark
+    public ClienteResponseDTO clienteToResponseDto() {
+        return ClienteMapper.toResponseDto(cliente, 3);
+    }
+
+    @Benchmark
+    public CuentaResponseDTO cuentaToResponseDto() {
+        return CuentaMapper.toResponseDto(cuenta);
+    }
+
+    @Benchmark
+    public TransaccionResponseDTO transaccionToResponseDto() {
+        return TransaccionMapper.toResponseDto(transaccion);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.banco.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Operaciones de BigDecimal sobre saldos tal como las hace TransaccionService. La variante con
+// escalas distintas muestra el costo de reescalar cuando el monto llega sin decimales.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AritmeticaSaldoBenchmark {
+
+    private BigDecimal saldo;
+    private BigDecimal monto;
+    private BigDecimal montoSinDecimales;
+    private BigDecimal saldoMinimo;
+
+    @Setup
+    public void setUp() {
+        saldo = new BigDecimal("1234567.89");
+        monto = new BigDecimal("250.00");
+        montoSinDecimales = new BigDecimal("250");
+        saldoMinimo = new BigDecimal("500.00");
+    }
+
+    @Benchmark
+    public BigDecimal sumar() {
+        return saldo.add(monto);
+    }
+
+    @Benchmark
+    public BigDecimal sumar_escalasDistintas() {
+        return saldo.add(montoSinDecimales);
+    }
+
+    @Benchmark
+    public BigDecimal restar() {
+        return saldo.subtract(monto);
+    }
+
+    @Benchmark
+    public int comparar() {
+        return monto.compareTo(saldo);
+    }
+
+    // Lo que hace un retiro: comparar con el saldo, restar y comparar con el saldo mínimo
+    @Benchmark
+    public boolean retiro() {
+        return monto.compareTo(saldo) <= 0 && saldo.subtract(monto).compareTo(saldoMinimo) >= 0;
+    }
+}
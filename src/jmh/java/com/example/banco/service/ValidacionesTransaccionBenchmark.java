@@ -0,0 +1,81 @@
+package com.example.banco.service;
+
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.EstadoCuenta;
+import com.example.banco.model.enums.TipoCuenta;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Validaciones de TransaccionService sin base de datos: los repositorios no se usan en estas
+// rutas y el uso diario se reemplaza por un stub con un monto fijo.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidacionesTransaccionBenchmark {
+
+    private TransaccionService transaccionService;
+    private Cuenta cuentaOrigen;
+    private Cuenta cuentaDestino;
+    private BigDecimal monto;
+    private BigDecimal montoExcedido;
+
+    @Setup
+    public void setUp() {
+        UsoDiarioService usoDiarioStub = new UsoDiarioService(null) {
+            private final BigDecimal retiradoHoy = new BigDecimal("1500.00");
+
+            @Override
+            public BigDecimal montoRetiradoHoy(Long cuentaId) {
+                return retiradoHoy;
+            }
+        };
+        transaccionService = new TransaccionService(null, null, usoDiarioStub, null, null, null, null, null, null, null, null);
+
+        cuentaOrigen = cuenta(1L, "10000.00");
+        cuentaDestino = cuenta(2L, "5000.00");
+        monto = new BigDecimal("250.00");
+        montoExcedido = new BigDecimal("20000.00");
+    }
+
+    @Benchmark
+    public void validarTransferencia() {
+        transaccionService.validarTransferencia(monto, cuentaDestino, cuentaOrigen);
+    }
+
+    @Benchmark
+    public void validarSaldoRetiro() {
+        transaccionService.validarSaldoRetiro(monto, cuentaOrigen);
+    }
+
+    @Benchmark
+    public void validarLimiteRetiroDiario() {
+        transaccionService.validarLimiteRetiroDiario(cuentaOrigen, monto);
+    }
+
+    // Camino de rechazo: incluye armar el mensaje y la traza de la excepción
+    @Benchmark
+    public void validarSaldoRetiro_rechazado(Blackhole bh) {
+        try {
+            transaccionService.validarSaldoRetiro(montoExcedido, cuentaOrigen);
+        } catch (ValidacionException e) {
+            bh.consume(e);
+        }
+    }
+
+    private Cuenta cuenta(Long id, String saldo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setId(id);
+        cuenta.setNroCuenta(String.format("CTA-%05d", id));
+        cuenta.setEstadoCuenta(EstadoCuenta.ACTIVA);
+        cuenta.setTipoCuenta(TipoCuenta.CORRIENTE);
+        cuenta.setSaldo(new BigDecimal(saldo));
+        cuenta.setSaldoMinimo(new BigDecimal("500.00"));
+        cuenta.setLimiteRetiroDiario(new BigDecimal("50000.00"));
+        cuenta.setLimiteTransferencia(new BigDecimal("100000.00"));
+        return cuenta;
+    }
+}
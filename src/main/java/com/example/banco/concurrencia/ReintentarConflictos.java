@@ -0,0 +1,13 @@
+package com.example.banco.concurrencia;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marca una operación que se vuelve a ejecutar completa, en una transacción nueva, cuando falla
+// por una modificación concurrente (ver ReintentosConcurrenciaAspect).
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReintentarConflictos {
+}
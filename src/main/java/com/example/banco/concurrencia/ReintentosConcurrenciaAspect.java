@@ -0,0 +1,83 @@
+package com.example.banco.concurrencia;
+
+import com.example.banco.exception.ConflictoConcurrenciaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reintenta las operaciones marcadas con @ReintentarConflictos que fallan con un
+ * ConcurrencyFailureException (versión de Cuenta desactualizada, deadlock, conflicto de
+ * serialización). Corre por fuera de la transacción de la operación para que cada intento abra
+ * una nueva; si ya hay una transacción abierta no reintenta y deja que lo haga quien la abrió.
+ * <p>
+ * La espera entre intentos es un valor al azar entre 0 y un tope que se duplica en cada intento
+ * ("full jitter"), para que las operaciones que chocaron no vuelvan a chocar en el mismo instante.
+ * Agotados los intentos se lanza ConflictoConcurrenciaException (409).
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ReintentosConcurrenciaAspect {
+
+    private final MeterRegistry registry;
+
+    @Value("${banco.concurrencia.reintentos.max-intentos:5}")
+    private int maxIntentos;
+
+    @Value("${banco.concurrencia.reintentos.espera-inicial-ms:10}")
+    private long esperaInicialMs;
+
+    @Value("${banco.concurrencia.reintentos.espera-maxima-ms:200}")
+    private long esperaMaximaMs;
+
+    @Around("@annotation(com.example.banco.concurrencia.ReintentarConflictos)")
+    public Object reintentar(ProceedingJoinPoint jp) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return jp.proceed();
+        }
+
+        String metodo = jp.getSignature().getDeclaringType().getSimpleName() + "." + jp.getSignature().getName();
+        for (int intento = 1; ; intento++) {
+            try {
+                return jp.proceed();
+            } catch (ConcurrencyFailureException e) {
+                if (intento >= maxIntentos) {
+                    registry.counter("banco.concurrencia.agotados", "metodo", metodo).increment();
+                    throw new ConflictoConcurrenciaException("La operación no pudo completarse por modificaciones " +
+                            "concurrentes sobre la cuenta después de " + intento + " intentos, intente nuevamente", e);
+                }
+                registry.counter("banco.concurrencia.reintentos", "metodo", metodo).increment();
+                log.debug("Conflicto de concurrencia en {}, intento {} de {}", metodo, intento, maxIntentos);
+                esperar(intento, e);
+            }
+        }
+    }
+
+    // Si interrumpen la espera no se reintenta más: se restaura la interrupción y sale el conflicto
+    // original, que el handler responde con 409.
+    private void esperar(int intento, ConcurrencyFailureException conflicto) {
+        long tope = Math.min(esperaMaximaMs, esperaInicialMs << Math.min(intento - 1, 20));
+        if (tope > 0) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(tope + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw conflicto;
+            }
+        }
+    }
+}
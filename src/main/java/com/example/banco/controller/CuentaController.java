@@ -2,14 +2,22 @@ package com.example.banco.controller;
 
 import com.example.banco.dto.request.CuentaRequestDTO;
 import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.EstadisticasCacheDTO;
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.ResumenCuentaDTO;
+import com.example.banco.dto.response.SaldoHistoricoDTO;
 import com.example.banco.model.enums.EstadoCuenta;
 import com.example.banco.service.interfaces.ICuentaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -43,6 +51,32 @@ public class CuentaController {
         return ResponseEntity.status(HttpStatus.OK).body(cuentaService.buscarPorCliente(id));
     }
 
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<SaldoHistoricoDTO> saldoAl(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fecha) {
+        return ResponseEntity.status(HttpStatus.OK).body(cuentaService.saldoAl(id, fecha));
+    }
+
+    @GetMapping("/{id}/resumen")
+    public ResponseEntity<ResumenCuentaDTO> resumen(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.status(HttpStatus.OK).body(cuentaService.resumen(id, desde, hasta));
+    }
+
+    @GetMapping("/{id}/extracto")
+    public ResponseEntity<PaginaResponseDTO<MovimientoExtractoDTO>> extracto(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanio) {
+        return ResponseEntity.status(HttpStatus.OK).body(cuentaService.extracto(id, desde, hasta, cursor, tamanio));
+    }
+
+    @GetMapping("/cache/estadisticas")
+    public ResponseEntity<EstadisticasCacheDTO> estadisticasCache() {
+        return ResponseEntity.status(HttpStatus.OK).body(cuentaService.estadisticasCache());
+    }
+
     @PutMapping("/estado/{id}")
     public ResponseEntity<CuentaResponseDTO> actualizarEstado(@Valid @PathVariable Long id,@Valid @RequestBody EstadoCuenta estado) {
         return ResponseEntity.status(HttpStatus.OK).body(cuentaService.cambiarEstado(estado,id));
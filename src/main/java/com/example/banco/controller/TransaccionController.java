@@ -1,43 +1,88 @@
 package com.example.banco.controller;
 
 import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
 import com.example.banco.dto.request.RetiroRequestDTO;
 import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.LoteTransferenciaResponseDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.RespuestaIdempotenteDTO;
 import com.example.banco.dto.response.TransaccionResponseDTO;
 import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.service.interfaces.IIdempotenciaService;
 import com.example.banco.service.interfaces.ITransaccionService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("banco/transacciones")
 @RequiredArgsConstructor
 public class TransaccionController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final ITransaccionService transaccionService;
+    private final IIdempotenciaService idempotenciaService;
 
     @PostMapping("/deposito")
-    public ResponseEntity<TransaccionResponseDTO> depositar(@RequestBody DepositoRequestDTO depositoRequestDTO){
-        return ResponseEntity.status(HttpStatus.CREATED).body(transaccionService.depositar(depositoRequestDTO));
+    public ResponseEntity<TransaccionResponseDTO> depositar(@RequestBody DepositoRequestDTO depositoRequestDTO,
+                                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String claveIdempotencia){
+        return responder(idempotenciaService.ejecutar(claveIdempotencia, TipoTransaccion.DEPOSITO, depositoRequestDTO,
+                () -> transaccionService.depositar(depositoRequestDTO)));
     }
 
     @PostMapping("/retiro")
-    public ResponseEntity<TransaccionResponseDTO> retirar(@RequestBody RetiroRequestDTO retiroRequestDTO){
-        return ResponseEntity.status(HttpStatus.CREATED).body(transaccionService.retirar(retiroRequestDTO));
+    public ResponseEntity<TransaccionResponseDTO> retirar(@RequestBody RetiroRequestDTO retiroRequestDTO,
+                                                          @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String claveIdempotencia){
+        return responder(idempotenciaService.ejecutar(claveIdempotencia, TipoTransaccion.RETIRO, retiroRequestDTO,
+                () -> transaccionService.retirar(retiroRequestDTO)));
     }
 
     @PostMapping("/transferencia")
-    public ResponseEntity<TransaccionResponseDTO> transferir(@RequestBody TransferenciaRequestDTO transferenciaRequestDTO){
-        return ResponseEntity.status(HttpStatus.CREATED).body(transaccionService.transferir(transferenciaRequestDTO));
+    public ResponseEntity<TransaccionResponseDTO> transferir(@RequestBody TransferenciaRequestDTO transferenciaRequestDTO,
+                                                             @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String claveIdempotencia){
+        return responder(idempotenciaService.ejecutar(claveIdempotencia, TipoTransaccion.TRANSFERENCIA, transferenciaRequestDTO,
+                () -> transaccionService.transferir(transferenciaRequestDTO)));
+    }
+
+    // Una repetición devuelve la transacción original con el mismo status que la primera respuesta
+    private ResponseEntity<TransaccionResponseDTO> responder(RespuestaIdempotenteDTO respuesta) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.CREATED);
+        if (respuesta.repetida()) {
+            builder.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return builder.body(respuesta.transaccion());
+    }
+
+    @PostMapping("/lote")
+    public ResponseEntity<LoteTransferenciaResponseDTO> transferirLote(@Valid @RequestBody LoteTransferenciaRequestDTO loteRequestDTO){
+        LoteTransferenciaResponseDTO respuesta = transaccionService.transferirLote(loteRequestDTO);
+        HttpStatus status = respuesta.aplicado() ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_CONTENT;
+        return ResponseEntity.status(status).body(respuesta);
     }
 
     @GetMapping
-    public ResponseEntity<List<TransaccionResponseDTO>> listarTransacciones(){
-        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.listarTransacciones());
+    public ResponseEntity<PaginaResponseDTO<TransaccionResponseDTO>> listarTransacciones(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanio){
+        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.listarTransacciones(cursor, tamanio));
+    }
+
+    @GetMapping("/buscar")
+    public ResponseEntity<PaginaResponseDTO<TransaccionResponseDTO>> buscarTransacciones(@ModelAttribute FiltroTransaccionesDTO filtro,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanio){
+        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.buscarTransacciones(filtro, cursor, tamanio));
     }
 
     @GetMapping("/{id}")
@@ -46,13 +91,76 @@ public class TransaccionController {
     }
 
     @GetMapping("/cuenta/{id}")
-    public ResponseEntity<List<TransaccionResponseDTO>> buscarTransaccionPorCuenta(@PathVariable Long id){
-        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.listarTransaccionesPorCuenta(id));
+    public ResponseEntity<PaginaResponseDTO<TransaccionResponseDTO>> buscarTransaccionPorCuenta(@PathVariable Long id,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanio,
+            @RequestParam(defaultValue = "false") boolean historico){
+        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.listarTransaccionesPorCuenta(id, cursor, tamanio, historico));
+    }
+
+    @GetMapping(value = "/cuenta/{id}/exportar", produces = "application/x-ndjson")
+    public void exportarTransaccionesPorCuenta(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean gzip,
+                                               HttpServletResponse response) throws IOException {
+        // El servicio verifica la cuenta antes de escribir, y los headers y el gzip se abren recién con
+        // la primera escritura: una cuenta inexistente deja la respuesta intacta para el 404.
+        try (OutputStream salida = new SalidaExportacion(response, id, gzip)) {
+            transaccionService.exportarTransaccionesPorCuenta(id, salida);
+        }
     }
 
     @GetMapping("/estado/{estado}")
-    public ResponseEntity<List<TransaccionResponseDTO>> buscarTransaccionPorEstado(@PathVariable EstadoTransaccion estado){
-        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.listarTransaccionesPorEstado(estado));
+    public ResponseEntity<PaginaResponseDTO<TransaccionResponseDTO>> buscarTransaccionPorEstado(@PathVariable EstadoTransaccion estado,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanio){
+        return ResponseEntity.status(HttpStatus.OK).body(transaccionService.listarTransaccionesPorEstado(estado, cursor, tamanio));
     }
 
+    private static final class SalidaExportacion extends OutputStream {
+
+        private final HttpServletResponse response;
+        private final Long id;
+        private final boolean gzip;
+        private OutputStream salida;
+
+        SalidaExportacion(HttpServletResponse response, Long id, boolean gzip) {
+            this.response = response;
+            this.id = id;
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            abrir().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            abrir().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            abrir().flush();
+        }
+
+        // Sin nada escrito no se abre: la exportación falló antes de empezar
+        @Override
+        public void close() throws IOException {
+            if (salida != null) {
+                salida.close();
+            }
+        }
+
+        private OutputStream abrir() throws IOException {
+            if (salida == null) {
+                response.setContentType("application/x-ndjson");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cuenta-" + id + ".ndjson\"");
+                if (gzip) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    salida = new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+                } else {
+                    salida = response.getOutputStream();
+                }
+            }
+            return salida;
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.banco.dto.request;
+
+import java.time.LocalDateTime;
+
+public record CursorTransaccion(
+        LocalDateTime fechaHora,
+        Long id
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.banco.dto.request;
+
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoTransaccion;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Filtros opcionales de la búsqueda de transacciones; desde es inclusivo y hasta exclusivo.
+public record FiltroTransaccionesDTO(
+        Long idCuentaOrigen,
+        Long idCuentaDestino,
+        TipoTransaccion tipoTransaccion,
+        EstadoTransaccion estado,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime desde,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime hasta,
+        BigDecimal montoMinimo,
+        BigDecimal montoMaximo
+) {
+}
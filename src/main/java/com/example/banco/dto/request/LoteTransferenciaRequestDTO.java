@@ -0,0 +1,17 @@
+package com.example.banco.dto.request;
+
+import com.example.banco.model.enums.ModoLote;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record LoteTransferenciaRequestDTO(
+        @NotNull(message = "El modo del lote es obligatorio")
+        ModoLote modo,
+
+        @NotEmpty(message = "El lote debe tener al menos una transferencia")
+        List<@Valid @NotNull TransferenciaRequestDTO> transferencias
+) {
+}
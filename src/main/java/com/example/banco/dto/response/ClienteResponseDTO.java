@@ -1,5 +1,7 @@
 package com.example.banco.dto.response;
 
+import com.example.banco.model.enums.EstadoCliente;
+
 public record ClienteResponseDTO (
         Long id,
         String nombre,
@@ -9,4 +11,9 @@ public record ClienteResponseDTO (
         String estado,
         int CantidadCuentas
 ){
+    // Usado por las proyecciones JPQL de ClienteRepository (SELECT new ...).
+    public ClienteResponseDTO(Long id, String nombre, String dni, String email, String telefono,
+                              EstadoCliente estado, Long cantidadCuentas) {
+        this(id, nombre, dni, email, telefono, estado.toString(), cantidadCuentas.intValue());
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.banco.dto.response;
+
+public record EstadisticasCacheDTO(
+        boolean habilitada,
+        long entradas,
+        long aciertos,
+        long fallos,
+        double tasaAciertos,
+        long desalojos
+) {
+}
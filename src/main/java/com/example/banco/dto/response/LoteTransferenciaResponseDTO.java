@@ -0,0 +1,13 @@
+package com.example.banco.dto.response;
+
+import java.util.List;
+
+public record LoteTransferenciaResponseDTO(
+        String modo,
+        boolean aplicado,
+        int total,
+        int exitosas,
+        int fallidas,
+        List<ResultadoLoteDTO> resultados
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.banco.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record MovimientoExtractoDTO(
+        long numero,
+        Long idTransaccion,
+        String tipoTransaccion,
+        String tipoAsiento,
+        LocalDateTime fechaHora,
+        BigDecimal monto,
+        BigDecimal saldoAnterior,
+        BigDecimal saldoPosterior,
+        String descripcion
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.banco.dto.response;
+
+import java.util.List;
+
+public record PaginaResponseDTO<T>(
+        List<T> contenido,
+        int tamanio,
+        String siguiente
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.banco.dto.response;
+
+public record RespuestaIdempotenteDTO(
+        TransaccionResponseDTO transaccion,
+        boolean repetida
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.banco.dto.response;
+
+public record ResultadoLoteDTO(
+        int indice,
+        boolean exitosa,
+        TransaccionResponseDTO transaccion,
+        String error
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.banco.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ResumenCuentaDTO(
+        Long idCuenta,
+        LocalDate desde,
+        LocalDate hasta,
+        List<TotalMovimientoDTO> totales
+) {
+}
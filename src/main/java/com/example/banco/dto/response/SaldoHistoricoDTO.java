@@ -0,0 +1,11 @@
+package com.example.banco.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SaldoHistoricoDTO(
+        Long idCuenta,
+        LocalDateTime fecha,
+        BigDecimal saldo
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.banco.dto.response;
+
+import java.math.BigDecimal;
+
+public record TotalMovimientoDTO(
+        String tipoTransaccion,
+        String tipoAsiento,
+        long cantidad,
+        BigDecimal monto
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.banco.exception;
+
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+    public ClaveIdempotenciaReutilizadaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banco.exception;
+
+public class ConflictoConcurrenciaException extends RuntimeException {
+    public ConflictoConcurrenciaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banco.exception;
+
+public class CuentaOcupadaException extends RuntimeException {
+    public CuentaOcupadaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.banco.exception;
 
+import lombok.Getter;
+
+@Getter
 public class EstadoInvalidoException extends RuntimeException {
-    public EstadoInvalidoException(String message) {
+    private final MotivoRechazo motivo;
+
+    public EstadoInvalidoException(MotivoRechazo motivo, String message) {
         super(message);
+        this.motivo = motivo;
     }
 }
@@ -1,5 +1,6 @@
 package com.example.banco.exception;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -49,6 +50,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(CuentaOcupadaException.class)
+    public ResponseEntity<ErrorResponse> handleCuentaOcupada(CuentaOcupadaException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Cuenta ocupada",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ClaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<ErrorResponse> handleClaveIdempotenciaReutilizada(ClaveIdempotenciaReutilizadaException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.UNPROCESSABLE_CONTENT.value(),
+                "Clave de idempotencia reutilizada",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_CONTENT);
+    }
+
+    // Reintentos agotados o interrumpidos, o una modificación concurrente en una operación que no se reintenta
+    @ExceptionHandler({ConflictoConcurrenciaException.class, ConcurrencyFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConflictoConcurrencia(RuntimeException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflicto de concurrencia",
+                ex instanceof ConflictoConcurrenciaException ? ex.getMessage()
+                        : "La cuenta fue modificada por otra operación, intente nuevamente",
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleArgumentoInvalido(MethodArgumentNotValidException ex, WebRequest request) {
         ErrorResponse error = new ErrorResponse(
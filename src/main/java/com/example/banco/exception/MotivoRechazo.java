@@ -0,0 +1,23 @@
+package com.example.banco.exception;
+
+// Código estable de cada regla de negocio que rechaza una operación. A diferencia del mensaje,
+// no incluye montos ni ids, así que sirve para agrupar métricas y alertas.
+public enum MotivoRechazo {
+    DEPOSITO_INICIAL_INSUFICIENTE,
+    CUENTA_INACTIVA,
+    SALDO_INSUFICIENTE,
+    SALDO_MINIMO,
+    LIMITE_RETIRO_DIARIO,
+    LIMITE_TRANSFERENCIA,
+    TRANSFERENCIA_MISMA_CUENTA,
+    LOTE_EXCEDIDO,
+    TAMANIO_PAGINA_INVALIDO,
+    CURSOR_INVALIDO,
+    IDEMPOTENCY_KEY_INVALIDA,
+    CUENTA_CERRADA,
+    TRANSICION_ESTADO_INVALIDA,
+    RANGO_FECHAS_INVALIDO,
+    RANGO_MONTOS_INVALIDO,
+    BUSQUEDA_NO_ACOTADA,
+    FECHA_ANTERIOR_AL_LIBRO_MAYOR
+}
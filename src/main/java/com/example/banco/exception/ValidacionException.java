@@ -1,7 +1,13 @@
 package com.example.banco.exception;
 
+import lombok.Getter;
+
+@Getter
 public class ValidacionException extends RuntimeException {
-    public ValidacionException(String message) {
+    private final MotivoRechazo motivo;
+
+    public ValidacionException(MotivoRechazo motivo, String message) {
         super(message);
+        this.motivo = motivo;
     }
 }
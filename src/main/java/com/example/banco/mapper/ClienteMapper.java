@@ -8,7 +8,7 @@ import com.example.banco.model.enums.EstadoCliente;
 
 public class ClienteMapper {
 
-    public static ClienteResponseDTO toResponseDto(Cliente cliente) {
+    public static ClienteResponseDTO toResponseDto(Cliente cliente, int cantidadCuentas) {
         if (cliente == null) {return null;}
 
         return new ClienteResponseDTO(
@@ -18,7 +18,7 @@ public class ClienteMapper {
                 cliente.getEmail(),
                 cliente.getTelefono(),
                 cliente.getEstado().toString(),
-                cliente.getCuentas().size()
+                cantidadCuentas
         );
 
     }
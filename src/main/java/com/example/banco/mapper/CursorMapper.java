@@ -0,0 +1,60 @@
+package com.example.banco.mapper;
+
+import com.example.banco.dto.request.CursorTransaccion;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class CursorMapper {
+
+    // Posición anterior a cualquier transacción real en orden (fechaHora DESC, id DESC): la primera
+    // página usa la misma consulta por rango que las siguientes.
+    public static final CursorTransaccion INICIO = new CursorTransaccion(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static String codificar(TransaccionResponseDTO transaccion) {
+        if (transaccion == null) {return null;}
+
+        String valor = transaccion.fechaHora() + "|" + transaccion.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorTransaccion decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {return INICIO;}
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorTransaccion(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidacionException(MotivoRechazo.CURSOR_INVALIDO, "Cursor de paginación inválido");
+        }
+    }
+
+    // Los extractos avanzan por el número de asiento, correlativo por cuenta
+    public static String codificar(MovimientoExtractoDTO movimiento) {
+        if (movimiento == null) {return null;}
+
+        String valor = String.valueOf(movimiento.numero());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decodificarNumero(String cursor) {
+        if (cursor == null || cursor.isBlank()) {return null;}
+
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ValidacionException(MotivoRechazo.CURSOR_INVALIDO, "Cursor de paginación inválido");
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.example.banco.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * StatementInspector que cuenta las sentencias SQL que Hibernate prepara en el hilo actual entre
+ * iniciar() y detener(). El conteo es por hilo porque cada solicitud HTTP se atiende completa en
+ * un solo hilo (también con hilos virtuales); fuera de una ventana abierta no cuenta nada. Lo que
+ * se delega a otro hilo mientras el llamador espera se cuenta envolviéndolo con propagar().
+ * <p>
+ * Se registra con spring.jpa.properties.hibernate.session_factory.statement_inspector. Hibernate
+ * lo instancia por reflexión, por eso el estado es estático.
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    private static final ThreadLocal<Conteo> CONTEO = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Conteo conteo = CONTEO.get();
+        if (conteo != null) {
+            conteo.sentencias++;
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        CONTEO.set(new Conteo());
+    }
+
+    // Sentencias contadas hasta ahora en el hilo actual, o 0 si no hay una ventana abierta.
+    public static int cantidad() {
+        Conteo conteo = CONTEO.get();
+        return conteo == null ? 0 : conteo.sentencias;
+    }
+
+    public static int detener() {
+        int sentencias = cantidad();
+        CONTEO.remove();
+        return sentencias;
+    }
+
+    // La operación suma sus sentencias a la ventana abierta en el hilo actual aunque corra en otro.
+    // El llamador tiene que esperar su resultado: el conteo no es seguro entre hilos concurrentes.
+    public static <T> Supplier<T> propagar(Supplier<T> operacion) {
+        Conteo conteo = CONTEO.get();
+        if (conteo == null) {
+            return operacion;
+        }
+        return () -> {
+            Conteo previo = CONTEO.get();
+            CONTEO.set(conteo);
+            try {
+                return operacion.get();
+            } finally {
+                if (previo == null) {
+                    CONTEO.remove();
+                } else {
+                    CONTEO.set(previo);
+                }
+            }
+        };
+    }
+
+    private static final class Conteo {
+        private int sentencias;
+    }
+}
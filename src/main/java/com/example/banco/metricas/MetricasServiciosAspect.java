@@ -0,0 +1,76 @@
+package com.example.banco.metricas;
+
+import com.example.banco.exception.EstadoInvalidoException;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Mide cada método público de los servicios expuestos a los controladores y cuenta los rechazos
+// de negocio por motivo. El tag "resultado" separa las operaciones exitosas de las fallidas para que
+// los percentiles de latencia no se mezclen con rechazos rápidos. Va por fuera de los reintentos
+// por conflictos de concurrencia: mide la operación completa, con sus reintentos.
+// TransaccionCarrilesService queda afuera: solo decora a TransaccionService, que ya se mide, y
+// medir ambos duplicaría los rechazos y los timers de cada operación.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MetricasServiciosAspect {
+
+    static final String TIMER_SERVICIO = "banco.servicio";
+    static final String CONTADOR_RECHAZOS = "banco.rechazos";
+
+    private final MeterRegistry registry;
+
+    @Around("(execution(* com.example.banco.service.interfaces.ITransaccionService.*(..))"
+            + " || execution(* com.example.banco.service.interfaces.ICuentaService.*(..))"
+            + " || execution(* com.example.banco.service.interfaces.IClienteService.*(..)))"
+            + " && !within(com.example.banco.service.TransaccionCarrilesService)")
+    public Object medir(ProceedingJoinPoint jp) throws Throwable {
+        String servicio = jp.getSignature().getDeclaringType().getSimpleName();
+        String metodo = jp.getSignature().getName();
+        Timer.Sample muestra = Timer.start(registry);
+        String resultado = "ok";
+        try {
+            return jp.proceed();
+        } catch (ValidacionException e) {
+            resultado = "rechazo";
+            contarRechazo(e.getMotivo(), e, metodo);
+            throw e;
+        } catch (EstadoInvalidoException e) {
+            resultado = "rechazo";
+            contarRechazo(e.getMotivo(), e, metodo);
+            throw e;
+        } catch (Throwable e) {
+            resultado = "error";
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder(TIMER_SERVICIO)
+                    .description("Latencia de los métodos de servicio")
+                    .tag("servicio", servicio)
+                    .tag("metodo", metodo)
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private void contarRechazo(MotivoRechazo motivo, RuntimeException e, String metodo) {
+        Counter.builder(CONTADOR_RECHAZOS)
+                .description("Operaciones rechazadas por reglas de negocio")
+                .tag("motivo", motivo.name())
+                .tag("excepcion", e.getClass().getSimpleName())
+                .tag("metodo", metodo)
+                .register(registry)
+                .increment();
+    }
+}
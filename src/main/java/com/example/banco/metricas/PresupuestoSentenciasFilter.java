@@ -0,0 +1,67 @@
+package com.example.banco.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Cuenta las sentencias SQL de cada solicitud y avisa cuando una supera el presupuesto. Un endpoint
+// que de golpe necesita más sentencias que antes suele ser un N+1 nuevo (un mapper que navega una
+// relación lazy, una asociación que pasó a EAGER).
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresupuestoSentenciasFilter extends OncePerRequestFilter {
+
+    static final String RESUMEN_SENTENCIAS = "banco.http.sentencias";
+
+    private final MeterRegistry registry;
+
+    @Value("${banco.sentencias.control.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${banco.sentencias.presupuesto-por-solicitud:20}")
+    private int presupuesto;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSentencias.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int sentencias = ContadorSentencias.detener();
+            String endpoint = request.getMethod() + " " + patron(request);
+            DistributionSummary.builder(RESUMEN_SENTENCIAS)
+                    .description("Sentencias SQL por solicitud")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(sentencias);
+            if (sentencias > presupuesto) {
+                log.warn("{} ejecutó {} sentencias SQL (presupuesto {}), uri={}",
+                        endpoint, sentencias, presupuesto, request.getRequestURI());
+            }
+        }
+    }
+
+    // Patrón del mapping (/banco/cuentas/{id}) para que el tag no crezca con cada id.
+    private static String patron(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : "SIN_MAPPING";
+    }
+}
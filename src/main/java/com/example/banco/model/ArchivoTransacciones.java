@@ -0,0 +1,36 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Mes de transacciones movido de la tabla al archivo comprimido "ruta" (NDJSON con gzip).
+@Entity
+@Table(name = "archivos_transacciones")
+@NoArgsConstructor
+@Getter
+public class ArchivoTransacciones {
+
+    // Primer día del mes archivado
+    @Id
+    private LocalDate mes;
+
+    @Column(nullable = false, length = 500)
+    private String ruta;
+
+    @Column(nullable = false)
+    private long cantidad;
+
+    @Column(name = "archivado_en", nullable = false)
+    private LocalDateTime archivadoEn;
+
+    public ArchivoTransacciones(LocalDate mes, String ruta, long cantidad) {
+        this.mes = mes;
+        this.ruta = ruta;
+        this.cantidad = cantidad;
+        this.archivadoEn = LocalDateTime.now();
+    }
+}
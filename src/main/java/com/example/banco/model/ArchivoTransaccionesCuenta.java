@@ -0,0 +1,46 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Segmento de una cuenta dentro del archivo de un mes: el miembro gzip que empieza en el byte
+// "desplazamiento" tiene sus "cantidad" transacciones del mes, de la más vieja a la más reciente.
+@Entity
+@Table(name = "archivos_transacciones_cuentas")
+@IdClass(ArchivoTransaccionesCuenta.Clave.class)
+@NoArgsConstructor
+@Getter
+public class ArchivoTransaccionesCuenta {
+
+    @Id
+    @Column(name = "cuenta_id")
+    private Long cuentaId;
+
+    @Id
+    private LocalDate mes;
+
+    @Column(nullable = false)
+    private long desplazamiento;
+
+    @Column(nullable = false)
+    private long cantidad;
+
+    public ArchivoTransaccionesCuenta(Long cuentaId, LocalDate mes, long desplazamiento, long cantidad) {
+        this.cuentaId = cuentaId;
+        this.mes = mes;
+        this.desplazamiento = desplazamiento;
+        this.cantidad = cantidad;
+    }
+
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Clave implements Serializable {
+        private Long cuentaId;
+        private LocalDate mes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.banco.model;
+
+import com.example.banco.model.enums.TipoAsiento;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Asiento del libro mayor: un débito o crédito sobre una cuenta con el saldo que dejó. Nunca se
+// modifica ni se borra; el número es correlativo por cuenta.
+@Entity
+@Immutable
+@Table(name = "asientos",
+        uniqueConstraints = @UniqueConstraint(name = "ux_asientos_cuenta_numero", columnNames = {"cuenta_id", "numero"}),
+        indexes = {
+                @Index(name = "ix_asientos_cuenta_fecha", columnList = "cuenta_id, fecha_hora, numero"),
+                @Index(name = "ix_asientos_transaccion", columnList = "transaccion_id")
+        })
+@NoArgsConstructor
+@Getter
+public class Asiento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asientos_seq")
+    @SequenceGenerator(name = "asientos_seq", sequenceName = "asientos_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "cuenta_id", nullable = false)
+    private Long cuentaId;
+
+    // Se asigna al guardar, una vez que la transacción tiene id
+    @Setter
+    @Column(name = "transaccion_id", nullable = false)
+    private Long transaccionId;
+
+    @Column(nullable = false)
+    private long numero;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoAsiento tipo;
+
+    @Column(nullable = false)
+    private BigDecimal monto;
+
+    @Column(name = "saldo_resultante", nullable = false)
+    private BigDecimal saldoResultante;
+
+    @Column(name = "fecha_hora", nullable = false)
+    private LocalDateTime fechaHora;
+
+    public Asiento(Long cuentaId, long numero, TipoAsiento tipo, BigDecimal monto,
+                   BigDecimal saldoResultante, LocalDateTime fechaHora) {
+        this.cuentaId = cuentaId;
+        this.numero = numero;
+        this.tipo = tipo;
+        this.monto = monto;
+        this.saldoResultante = saldoResultante;
+        this.fechaHora = fechaHora;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "claves_idempotencia", indexes = {
+        @Index(name = "ix_claves_idempotencia_creada", columnList = "creada_en")
+})
+@NoArgsConstructor
+@Getter
+@Setter
+public class ClaveIdempotencia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claves_idempotencia_seq")
+    @SequenceGenerator(name = "claves_idempotencia_seq", sequenceName = "claves_idempotencia_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String clave;
+
+    // SHA-256 de la operación y el cuerpo de la solicitud original
+    @Column(nullable = false, length = 64)
+    private String huella;
+
+    @Column(name = "transaccion_id", nullable = false)
+    private Long transaccionId;
+
+    @Column(name = "creada_en", nullable = false)
+    private LocalDateTime creadaEn;
+
+    public ClaveIdempotencia(String clave, String huella, Long transaccionId) {
+        this.clave = clave;
+        this.huella = huella;
+        this.transaccionId = transaccionId;
+        this.creadaEn = LocalDateTime.now();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.banco.model;
 
 import com.example.banco.model.enums.EstadoCuenta;
 import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.generacion.NroCuentaGenerado;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,16 +11,21 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "cuentas")
+@Table(name = "cuentas", indexes = {
+        @Index(name = "ux_cuentas_nro_cuenta", columnList = "nro_cuenta", unique = true),
+        @Index(name = "ix_cuentas_cliente", columnList = "cliente_id")
+})
 @NoArgsConstructor
 @Getter
 @Setter
 public class Cuenta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cuentas_seq")
+    @SequenceGenerator(name = "cuentas_seq", sequenceName = "cuentas_seq", allocationSize = 50)
     private Long id;
 
+    @NroCuentaGenerado
     private String nroCuenta;
 
     @Enumerated(EnumType.STRING)
@@ -39,4 +45,12 @@ public class Cuenta {
 
 
     private BigDecimal saldo;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Número del último asiento del libro mayor; se incrementa con la fila bloqueada
+    @Column(nullable = false)
+    private long ultimoAsiento;
 }
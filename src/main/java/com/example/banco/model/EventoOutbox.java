@@ -0,0 +1,47 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Evento de una transacción completada, escrito en la misma transacción que la operación.
+// Queda pendiente hasta que el despachador lo entrega al destino configurado. Los índices son
+// parciales (solo pendientes, solo publicados) y viven únicamente en V5__outbox_eventos.sql.
+@Entity
+@Table(name = "eventos_outbox")
+@NoArgsConstructor
+@Getter
+@Setter
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_outbox_seq")
+    @SequenceGenerator(name = "eventos_outbox_seq", sequenceName = "eventos_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transaccion_id", nullable = false)
+    private Long transaccionId;
+
+    @Column(nullable = false, length = 30)
+    private String tipo;
+
+    // TransaccionResponseDTO serializado como JSON
+    @Column(nullable = false, length = 4000)
+    private String carga;
+
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "publicado_en")
+    private LocalDateTime publicadoEn;
+
+    public EventoOutbox(Long transaccionId, String tipo, String carga) {
+        this.transaccionId = transaccionId;
+        this.tipo = tipo;
+        this.carga = carga;
+        this.creadoEn = LocalDateTime.now();
+    }
+}
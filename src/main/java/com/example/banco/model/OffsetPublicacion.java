@@ -0,0 +1,34 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Avance de la publicación de eventos por destino: el mayor id de evento entregado y el total
+// acumulado. No es una marca de agua: los ids salen de una secuencia con bloques de 50 por
+// instancia y los lotes se confirman fuera de orden, así que puede haber eventos de id menor
+// todavía pendientes. Lo pendiente es lo que tiene publicado_en nulo en eventos_outbox; los
+// consumidores deduplican por id de evento, porque la entrega es al menos una vez.
+@Entity
+@Table(name = "offsets_publicacion")
+@NoArgsConstructor
+@Getter
+@Setter
+public class OffsetPublicacion {
+
+    @Id
+    @Column(length = 100)
+    private String destino;
+
+    @Column(name = "ultimo_evento_id", nullable = false)
+    private long ultimoEventoId;
+
+    @Column(nullable = false)
+    private long publicados;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+}
@@ -0,0 +1,44 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Saldo de una cuenta después del asiento número "numero". El número 0 es la apertura.
+@Entity
+@Immutable
+@Table(name = "puntos_control_saldo",
+        uniqueConstraints = @UniqueConstraint(name = "ux_puntos_control_cuenta_numero", columnNames = {"cuenta_id", "numero"}),
+        indexes = @Index(name = "ix_puntos_control_cuenta_fecha", columnList = "cuenta_id, fecha_hora, numero"))
+@NoArgsConstructor
+@Getter
+public class PuntoControlSaldo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "puntos_control_saldo_seq")
+    @SequenceGenerator(name = "puntos_control_saldo_seq", sequenceName = "puntos_control_saldo_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "cuenta_id", nullable = false)
+    private Long cuentaId;
+
+    @Column(nullable = false)
+    private long numero;
+
+    @Column(name = "fecha_hora", nullable = false)
+    private LocalDateTime fechaHora;
+
+    @Column(nullable = false)
+    private BigDecimal saldo;
+
+    public PuntoControlSaldo(Long cuentaId, long numero, LocalDateTime fechaHora, BigDecimal saldo) {
+        this.cuentaId = cuentaId;
+        this.numero = numero;
+        this.fechaHora = fechaHora;
+        this.saldo = saldo;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.banco.model;
+
+import com.example.banco.model.enums.PeriodoResumen;
+import com.example.banco.model.enums.TipoAsiento;
+import com.example.banco.model.enums.TipoTransaccion;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Cantidad y monto de los movimientos de una cuenta en un día o un mes (fecha es el primer día del
+// mes), por tipo de transacción y sentido: una transferencia es DEBITO para el origen y CREDITO
+// para el destino.
+@Entity
+@Table(name = "resumenes_cuenta",
+        uniqueConstraints = @UniqueConstraint(name = "ux_resumenes_cuenta_periodo",
+                columnNames = {"cuenta_id", "periodo", "fecha", "tipo_transaccion", "tipo_asiento"}))
+@NoArgsConstructor
+@Getter
+public class ResumenCuenta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resumenes_cuenta_seq")
+    @SequenceGenerator(name = "resumenes_cuenta_seq", sequenceName = "resumenes_cuenta_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "cuenta_id", nullable = false)
+    private Long cuentaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private PeriodoResumen periodo;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_transaccion", nullable = false, length = 20)
+    private TipoTransaccion tipoTransaccion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_asiento", nullable = false, length = 10)
+    private TipoAsiento tipoAsiento;
+
+    @Column(nullable = false)
+    private long cantidad;
+
+    @Column(nullable = false)
+    private BigDecimal monto;
+
+    public ResumenCuenta(Long cuentaId, PeriodoResumen periodo, LocalDate fecha, TipoTransaccion tipoTransaccion,
+                         TipoAsiento tipoAsiento, long cantidad, BigDecimal monto) {
+        this.cuentaId = cuentaId;
+        this.periodo = periodo;
+        this.fecha = fecha;
+        this.tipoTransaccion = tipoTransaccion;
+        this.tipoAsiento = tipoAsiento;
+        this.cantidad = cantidad;
+        this.monto = monto;
+    }
+}
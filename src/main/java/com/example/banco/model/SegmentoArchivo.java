@@ -0,0 +1,12 @@
+package com.example.banco.model;
+
+import java.time.LocalDate;
+
+// Ubicación del segmento de una cuenta en el archivo de un mes
+public record SegmentoArchivo(
+        LocalDate mes,
+        String ruta,
+        long desplazamiento,
+        long cantidad
+) {
+}
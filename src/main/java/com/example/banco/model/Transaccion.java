@@ -11,14 +11,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transacciones")
+@Table(name = "transacciones", indexes = {
+        @Index(name = "ix_transacciones_origen_fecha", columnList = "cuenta_origen_id, fecha_hora, id"),
+        @Index(name = "ix_transacciones_destino_fecha", columnList = "cuenta_destino_id, fecha_hora, id"),
+        @Index(name = "ix_transacciones_fecha", columnList = "fecha_hora, id"),
+        @Index(name = "ix_transacciones_estado_fecha", columnList = "estado, fecha_hora, id")
+})
 @NoArgsConstructor
 @Getter
 @Setter
 public class Transaccion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacciones_seq")
+    @SequenceGenerator(name = "transacciones_seq", sequenceName = "transacciones_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -27,6 +33,7 @@ public class Transaccion {
     @Enumerated(EnumType.STRING)
     EstadoTransaccion estado;
 
+    @Column(nullable = false)
     LocalDateTime fechaHora;
 
     BigDecimal monto;
@@ -0,0 +1,38 @@
+package com.example.banco.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "uso_diario_cuentas",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"cuenta_id", "fecha"}))
+@NoArgsConstructor
+@Getter
+@Setter
+public class UsoDiarioCuenta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "uso_diario_cuentas_seq")
+    @SequenceGenerator(name = "uso_diario_cuentas_seq", sequenceName = "uso_diario_cuentas_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "cuenta_id", nullable = false)
+    private Long cuentaId;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Column(nullable = false)
+    private BigDecimal montoRetirado;
+
+    public UsoDiarioCuenta(Long cuentaId, LocalDate fecha, BigDecimal montoRetirado) {
+        this.cuentaId = cuentaId;
+        this.fecha = fecha;
+        this.montoRetirado = montoRetirado;
+    }
+}
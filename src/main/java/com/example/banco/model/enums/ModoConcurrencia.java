@@ -0,0 +1,5 @@
+package com.example.banco.model.enums;
+
+public enum ModoConcurrencia {
+    PESIMISTA, OPTIMISTA
+}
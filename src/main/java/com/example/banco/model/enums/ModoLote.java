@@ -0,0 +1,5 @@
+package com.example.banco.model.enums;
+
+public enum ModoLote {
+    TODO_O_NADA, MEJOR_ESFUERZO
+}
@@ -0,0 +1,24 @@
+package com.example.banco.model.generacion;
+
+import com.example.banco.model.Cuenta;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+// Con ids de secuencia el id ya está asignado al hacer persist, así que el número de cuenta
+// se calcula en memoria y viaja en el mismo INSERT (sin un UPDATE posterior).
+public class GeneradorNroCuenta implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return String.format("CTA-%05d", ((Cuenta) owner).getId());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.banco.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Con banco.replica.habilitada=true el DataSource de la aplicación pasa a ser un ruteo entre el
+ * primario (spring.datasource.*) y la réplica (banco.replica.datasource.*), cada uno con su pool.
+ * Flyway, Hibernate y las escrituras siguen usando el primario; solo @LecturaReplica va a la réplica.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "banco.replica.habilitada", havingValue = "true")
+public class ConfiguracionReplica {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSourcePrimario(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("banco.replica.datasource")
+    DataSourceProperties propiedadesReplica() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("banco.replica.datasource.hikari")
+    HikariDataSource dataSourceReplica(@Qualifier("propiedadesReplica") DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    MonitorRetrasoReplica monitorRetrasoReplica(@Qualifier("dataSourceReplica") DataSource replica, MeterRegistry registry,
+                                                @Value("${banco.replica.retraso.consulta}") String consulta,
+                                                @Value("${banco.replica.retraso.maximo-ms:5000}") long maximoMs) {
+        return new MonitorRetrasoReplica(replica, consulta, maximoMs, registry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                          @Qualifier("dataSourceReplica") DataSource replica,
+                          MonitorRetrasoReplica monitor, MeterRegistry registry) {
+        RuteoDataSource ruteo = new RuteoDataSource(primario, replica, monitor, registry);
+        ruteo.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(ruteo);
+    }
+}
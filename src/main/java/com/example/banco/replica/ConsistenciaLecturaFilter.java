@@ -0,0 +1,36 @@
+package com.example.banco.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Un cliente que acaba de escribir y necesita verlo en el listado siguiente lo pide con
+// "X-Consistencia-Lectura: primario": toda la solicitud lee del primario.
+@Component
+@ConditionalOnProperty(name = "banco.replica.habilitada", havingValue = "true")
+public class ConsistenciaLecturaFilter extends OncePerRequestFilter {
+
+    static final String CABECERA = "X-Consistencia-Lectura";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"primario".equalsIgnoreCase(request.getHeader(CABECERA));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean previo = ContextoRuteo.forzarPrimario();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContextoRuteo.restaurarPrimario(previo);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.banco.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Estado del hilo que decide a qué base va la próxima conexión. Una lectura va a la réplica solo
+ * si está marcada con @LecturaReplica y nadie pidió el primario: así las consultas de los
+ * repositorios de Spring Data, que también son readOnly por defecto, siguen leyendo del primario.
+ */
+public final class ContextoRuteo {
+
+    private static final ThreadLocal<Boolean> LECTURA_REPLICA = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> PRIMARIO_FORZADO = ThreadLocal.withInitial(() -> false);
+
+    private ContextoRuteo() {
+    }
+
+    // Para lecturas que tienen que ver las escrituras recién confirmadas (read-your-writes)
+    public static <T> T enPrimario(Supplier<T> lectura) {
+        boolean previo = forzarPrimario();
+        try {
+            return lectura.get();
+        } finally {
+            restaurarPrimario(previo);
+        }
+    }
+
+    // La operación corre en otro hilo con el ruteo que tiene el hilo actual al envolverla.
+    public static <T> Supplier<T> propagar(Supplier<T> operacion) {
+        boolean lecturaReplica = LECTURA_REPLICA.get();
+        boolean primarioForzado = PRIMARIO_FORZADO.get();
+        return () -> {
+            boolean previaLectura = fijar(LECTURA_REPLICA, lecturaReplica);
+            boolean previoPrimario = fijar(PRIMARIO_FORZADO, primarioForzado);
+            try {
+                return operacion.get();
+            } finally {
+                LECTURA_REPLICA.set(previaLectura);
+                PRIMARIO_FORZADO.set(previoPrimario);
+            }
+        };
+    }
+
+    private static boolean fijar(ThreadLocal<Boolean> estado, boolean valor) {
+        boolean previo = estado.get();
+        estado.set(valor);
+        return previo;
+    }
+
+    static boolean usarReplica() {
+        return LECTURA_REPLICA.get() && !PRIMARIO_FORZADO.get();
+    }
+
+    static boolean iniciarLecturaReplica() {
+        boolean previo = LECTURA_REPLICA.get();
+        LECTURA_REPLICA.set(true);
+        return previo;
+    }
+
+    static void restaurarLecturaReplica(boolean previo) {
+        LECTURA_REPLICA.set(previo);
+    }
+
+    static boolean forzarPrimario() {
+        boolean previo = PRIMARIO_FORZADO.get();
+        PRIMARIO_FORZADO.set(true);
+        return previo;
+    }
+
+    static void restaurarPrimario(boolean previo) {
+        PRIMARIO_FORZADO.set(previo);
+    }
+}
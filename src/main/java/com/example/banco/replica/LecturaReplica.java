@@ -0,0 +1,17 @@
+package com.example.banco.replica;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Lectura de solo lectura que puede resolverse en la réplica cuando banco.replica.habilitada=true.
+// Abre una transacción readOnly; si se llama dentro de una transacción de escritura ya abierta, se
+// une a ella y lee del primario.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+public @interface LecturaReplica {
+}
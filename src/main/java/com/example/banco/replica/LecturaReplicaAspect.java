@@ -0,0 +1,23 @@
+package com.example.banco.replica;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@ConditionalOnProperty(name = "banco.replica.habilitada", havingValue = "true")
+public class LecturaReplicaAspect {
+
+    @Around("@annotation(com.example.banco.replica.LecturaReplica)")
+    public Object marcar(ProceedingJoinPoint jp) throws Throwable {
+        boolean previo = ContextoRuteo.iniciarLecturaReplica();
+        try {
+            return jp.proceed();
+        } finally {
+            ContextoRuteo.restaurarLecturaReplica(previo);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.banco.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Mide periódicamente el retraso de la réplica con banco.replica.retraso.consulta (milisegundos).
+ * Si supera banco.replica.retraso.maximo-ms, o la réplica no responde, las lecturas vuelven al
+ * primario hasta la próxima medición que esté dentro del máximo.
+ */
+@Slf4j
+public class MonitorRetrasoReplica {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String consulta;
+    private final long maximoMs;
+
+    private volatile double retrasoMs = Double.NaN;
+    private volatile boolean disponible;
+
+    public MonitorRetrasoReplica(DataSource replica, String consulta, long maximoMs, MeterRegistry registry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.consulta = consulta;
+        this.maximoMs = maximoMs;
+        Gauge.builder("banco.replica.retraso", this, monitor -> monitor.retrasoMs / 1000)
+                .description("Retraso de la réplica en la última medición")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("banco.replica.disponible", this, monitor -> monitor.disponible ? 1 : 0)
+                .description("1 si las lecturas se están enviando a la réplica")
+                .register(registry);
+        medir();
+    }
+
+    public boolean replicaDisponible() {
+        return disponible;
+    }
+
+    @Scheduled(fixedDelayString = "${banco.replica.retraso.intervalo-ms:1000}",
+            initialDelayString = "${banco.replica.retraso.intervalo-ms:1000}")
+    public void medir() {
+        boolean anterior = disponible;
+        try {
+            Double medido = jdbcTemplate.queryForObject(consulta, Double.class);
+            retrasoMs = medido != null ? medido : 0;
+            disponible = retrasoMs <= maximoMs;
+        } catch (DataAccessException e) {
+            retrasoMs = Double.NaN;
+            disponible = false;
+        }
+
+        if (anterior && !disponible) {
+            log.warn("Réplica fuera de servicio para lecturas (retraso {} ms, máximo {} ms): se lee del primario",
+                    retrasoMs, maximoMs);
+        } else if (!anterior && disponible) {
+            log.info("Réplica disponible para lecturas (retraso {} ms)", retrasoMs);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.banco.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Elige el pool de cada conexión: la réplica para las transacciones readOnly abiertas por
+ * @LecturaReplica, mientras su retraso esté dentro del máximo, y el primario para todo lo demás.
+ * Tiene que usarse detrás de un LazyConnectionDataSourceProxy: la transacción pide la conexión al
+ * comenzar, antes de quedar marcada como readOnly, y el proxy la demora hasta la primera sentencia.
+ */
+public class RuteoDataSource extends AbstractRoutingDataSource {
+
+    enum Destino { PRIMARIO, REPLICA }
+
+    private final MonitorRetrasoReplica monitor;
+    private final Counter conexionesPrimario;
+    private final Counter conexionesReplica;
+
+    public RuteoDataSource(DataSource primario, DataSource replica, MonitorRetrasoReplica monitor, MeterRegistry registry) {
+        this.monitor = monitor;
+        this.conexionesPrimario = registry.counter("banco.replica.conexiones", "destino", "primario");
+        this.conexionesReplica = registry.counter("banco.replica.conexiones", "destino", "replica");
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ContextoRuteo.usarReplica()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && monitor.replicaDisponible()) {
+            conexionesReplica.increment();
+            return Destino.REPLICA;
+        }
+        conexionesPrimario.increment();
+        return Destino.PRIMARIO;
+    }
+}
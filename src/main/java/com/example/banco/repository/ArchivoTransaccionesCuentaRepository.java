@@ -0,0 +1,17 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.ArchivoTransaccionesCuenta;
+import com.example.banco.model.SegmentoArchivo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivoTransaccionesCuentaRepository extends JpaRepository<ArchivoTransaccionesCuenta, ArchivoTransaccionesCuenta.Clave> {
+
+    @Query("SELECT new com.example.banco.model.SegmentoArchivo(a.mes, a.ruta, c.desplazamiento, c.cantidad) " +
+            "FROM ArchivoTransaccionesCuenta c JOIN ArchivoTransacciones a ON a.mes = c.mes " +
+            "WHERE c.cuentaId = :cuentaId ORDER BY a.mes DESC")
+    List<SegmentoArchivo> findSegmentosByCuentaId(@Param("cuentaId") Long cuentaId);
+}
@@ -0,0 +1,9 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.ArchivoTransacciones;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface ArchivoTransaccionesRepository extends JpaRepository<ArchivoTransacciones, LocalDate> {
+}
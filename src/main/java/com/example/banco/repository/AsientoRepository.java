@@ -0,0 +1,44 @@
+package com.example.banco.repository;
+
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.model.Asiento;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AsientoRepository extends JpaRepository<Asiento, Long> {
+
+    // Saldo del último asiento hasta la fecha, sin bajar del punto de control: recorre
+    // ix_asientos_cuenta_fecha hacia atrás y se detiene en la primera fila.
+    @Query("SELECT a.saldoResultante FROM Asiento a " +
+            "WHERE a.cuentaId = :cuentaId AND a.fechaHora <= :fecha AND a.numero > :desdeNumero " +
+            "ORDER BY a.fechaHora DESC, a.numero DESC")
+    List<BigDecimal> findSaldoAl(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDateTime fecha,
+                                 @Param("desdeNumero") long desdeNumero, Limit limit);
+
+    // Número del último asiento anterior a la fecha, por el mismo recorrido hacia atrás de
+    // ix_asientos_cuenta_fecha. Delimita el tramo del libro mayor que cubre un extracto.
+    @Query("SELECT a.numero FROM Asiento a WHERE a.cuentaId = :cuentaId AND a.fechaHora < :fecha " +
+            "ORDER BY a.fechaHora DESC, a.numero DESC")
+    List<Long> findNumeroAntesDe(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDateTime fecha, Limit limit);
+
+    // Tramo (despuesDe, hasta] del libro mayor en orden de número, por rango de
+    // ux_asientos_cuenta_numero. Cada asiento ya trae el saldo que dejó, así que el saldo anterior
+    // sale de la misma fila. El JOIN incluye fecha_hora para que PostgreSQL lea una sola partición
+    // de transacciones; los meses archivados quedan sin tipo de transacción ni descripción.
+    @Query("SELECT new com.example.banco.dto.response.MovimientoExtractoDTO(" +
+            "a.numero, a.transaccionId, CAST(t.tipoTransaccion AS String), CAST(a.tipo AS String), a.fechaHora, a.monto, " +
+            "CASE WHEN a.tipo = com.example.banco.model.enums.TipoAsiento.CREDITO " +
+            "THEN a.saldoResultante - a.monto ELSE a.saldoResultante + a.monto END, " +
+            "a.saldoResultante, t.descripcion) " +
+            "FROM Asiento a LEFT JOIN Transaccion t ON t.id = a.transaccionId AND t.fechaHora = a.fechaHora " +
+            "WHERE a.cuentaId = :cuentaId AND a.numero > :despuesDe AND a.numero <= :hasta " +
+            "ORDER BY a.numero")
+    List<MovimientoExtractoDTO> findExtracto(@Param("cuentaId") Long cuentaId, @Param("despuesDe") long despuesDe,
+                                             @Param("hasta") long hasta, Limit limit);
+}
@@ -0,0 +1,15 @@
+package com.example.banco.repository;
+
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.Transaccion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Fragmento de TransaccionRepository para consultas armadas con Specifications y proyectadas a
+// TransaccionResponseDTO en una sola sentencia.
+public interface BusquedaTransacciones {
+
+    List<TransaccionResponseDTO> buscar(Specification<Transaccion> specification, Limit limit);
+}
@@ -0,0 +1,44 @@
+package com.example.banco.repository;
+
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.Transaccion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Misma forma que SELECT_TRANSACCION_RESPONSE: LEFT JOIN a las cuentas para los números de
+// cuenta y proyección directa al DTO, sin hidratar entidades.
+@RequiredArgsConstructor
+public class BusquedaTransaccionesImpl implements BusquedaTransacciones {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TransaccionResponseDTO> buscar(Specification<Transaccion> specification, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransaccionResponseDTO> query = cb.createQuery(TransaccionResponseDTO.class);
+        Root<Transaccion> t = query.from(Transaccion.class);
+        Join<Transaccion, Cuenta> co = t.join("cuentaOrigen", JoinType.LEFT);
+        Join<Transaccion, Cuenta> cd = t.join("cuentaDestino", JoinType.LEFT);
+
+        query.select(cb.construct(TransaccionResponseDTO.class,
+                        t.get("id"), t.get("tipoTransaccion").cast(String.class), t.get("estado").cast(String.class),
+                        t.get("fechaHora"), co.get("id"), co.get("nroCuenta"), cd.get("id"), cd.get("nroCuenta"),
+                        t.get("monto"), t.get("descripcion")))
+                .where(specification.toPredicate(t, query, cb))
+                .orderBy(cb.desc(t.get("fechaHora")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+}
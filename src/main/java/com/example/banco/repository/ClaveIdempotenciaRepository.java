@@ -0,0 +1,25 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.ClaveIdempotencia;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ClaveIdempotenciaRepository extends JpaRepository<ClaveIdempotencia, Long> {
+
+    Optional<ClaveIdempotencia> findByClave(String clave);
+
+    // Borra un lote acotado de claves vencidas por llamada, para no retener bloqueos ni generar
+    // una transacción enorme cuando se acumularon muchas.
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM claves_idempotencia WHERE id IN (" +
+            "SELECT id FROM claves_idempotencia WHERE creada_en < :limite ORDER BY creada_en LIMIT :lote)",
+            nativeQuery = true)
+    int borrarVencidas(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+}
@@ -1,11 +1,30 @@
 package com.example.banco.repository;
 
+import com.example.banco.dto.response.ClienteResponseDTO;
 import com.example.banco.model.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByDni(String dni);
 
+    // Clientes junto con su cantidad de cuentas en una sola sentencia (LEFT JOIN + COUNT),
+    // sin inicializar la colección cuentas de cada cliente.
+    String SELECT_CLIENTE_CON_CUENTAS = "SELECT new com.example.banco.dto.response.ClienteResponseDTO(" +
+            "c.id, c.nombre, c.dni, c.email, c.telefono, c.estado, COUNT(cu)) " +
+            "FROM Cliente c LEFT JOIN c.cuentas cu ";
+    String GROUP_BY_CLIENTE = " GROUP BY c.id, c.nombre, c.dni, c.email, c.telefono, c.estado";
+
+    @Query(SELECT_CLIENTE_CON_CUENTAS + GROUP_BY_CLIENTE + " ORDER BY c.id")
+    List<ClienteResponseDTO> findAllConCantidadCuentas();
+
+    @Query(SELECT_CLIENTE_CON_CUENTAS + "WHERE c.id = :id" + GROUP_BY_CLIENTE)
+    Optional<ClienteResponseDTO> findConCantidadCuentasById(@Param("id") Long id);
+
+    @Query(SELECT_CLIENTE_CON_CUENTAS + "WHERE c.dni = :dni" + GROUP_BY_CLIENTE)
+    Optional<ClienteResponseDTO> findConCantidadCuentasByDni(@Param("dni") String dni);
 }
@@ -1,12 +1,53 @@
 package com.example.banco.repository;
 
+import com.example.banco.dto.response.CuentaResponseDTO;
 import com.example.banco.model.Cuenta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CuentaRepository extends JpaRepository<Cuenta,Long> {
-    Optional<Cuenta> findByNroCuenta(String nroCuenta);
-    List<Cuenta> findByClienteId(Long clienteId);
+
+    // Lecturas proyectadas directamente a CuentaResponseDTO con un único JOIN al cliente,
+    // sin hidratar entidades Cuenta ni Cliente.
+    String SELECT_CUENTA_RESPONSE = "SELECT new com.example.banco.dto.response.CuentaResponseDTO(" +
+            "c.id, c.nroCuenta, CAST(c.tipoCuenta AS String), CAST(c.estadoCuenta AS String), cl.id, cl.nombre, c.saldo) " +
+            "FROM Cuenta c LEFT JOIN c.cliente cl ";
+
+    @Query(SELECT_CUENTA_RESPONSE + "WHERE c.id = :id")
+    Optional<CuentaResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_CUENTA_RESPONSE + "WHERE c.nroCuenta = :nroCuenta")
+    Optional<CuentaResponseDTO> findResponseByNroCuenta(@Param("nroCuenta") String nroCuenta);
+
+    @Query("SELECT c.id FROM Cuenta c WHERE c.nroCuenta = :nroCuenta")
+    Optional<Long> findIdByNroCuenta(@Param("nroCuenta") String nroCuenta);
+
+    // fk() filtra por la columna cliente_id de cuentas (índice ix_cuentas_cliente) y no por el id
+    // de la tabla unida, que obligaría a recorrer todas las cuentas.
+    @Query(SELECT_CUENTA_RESPONSE + "WHERE fk(c.cliente) = :clienteId ORDER BY c.id")
+    List<CuentaResponseDTO> findResponseByClienteId(@Param("clienteId") Long clienteId);
+
+    @Query(SELECT_CUENTA_RESPONSE + "ORDER BY c.id")
+    List<CuentaResponseDTO> findAllResponse();
+
+    // SELECT ... FOR UPDATE con espera acotada: si no se obtiene el bloqueo en 3s se lanza
+    // PessimisticLockingFailureException en lugar de quedar esperando indefinidamente.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT c FROM Cuenta c WHERE c.id = :id")
+    Optional<Cuenta> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT c FROM Cuenta c WHERE c.id IN :ids ORDER BY c.id")
+    List<Cuenta> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,47 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock.timeout = -2): varios despachadores en paralelo toman lotes
+    // disjuntos de eventos pendientes sin esperarse entre sí.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EventoOutbox e WHERE e.publicadoEn IS NULL ORDER BY e.id")
+    List<EventoOutbox> findPendientesForUpdate(Limit limit);
+
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.publicadoEn = :fecha WHERE e.id IN :ids")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("fecha") LocalDateTime fecha);
+
+    @Query("SELECT count(e) FROM EventoOutbox e WHERE e.publicadoEn IS NULL")
+    long countPendientes();
+
+    // El pendiente de menor id es el más antiguo: es la primera entrada de ix_eventos_outbox_pendientes
+    @Query("SELECT e.creadoEn FROM EventoOutbox e WHERE e.publicadoEn IS NULL ORDER BY e.id")
+    List<LocalDateTime> findCreacionPendientes(Limit limit);
+
+    // Borra un lote acotado de eventos ya publicados por llamada, igual que la purga de claves
+    // de idempotencia.
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM eventos_outbox WHERE id IN (" +
+            "SELECT id FROM eventos_outbox WHERE publicado_en < :limite ORDER BY publicado_en LIMIT :lote)",
+            nativeQuery = true)
+    int borrarPublicados(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+}
@@ -0,0 +1,26 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.OffsetPublicacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface OffsetPublicacionRepository extends JpaRepository<OffsetPublicacion, String> {
+
+    // Una sola sentencia, sin leer la fila antes: GREATEST evita que un lote confirmado fuera de
+    // orden haga retroceder el offset.
+    @Modifying
+    @Query(value = "UPDATE offsets_publicacion SET ultimo_evento_id = GREATEST(ultimo_evento_id, :ultimoId), "
+            + "publicados = publicados + :cantidad, actualizado_en = :fecha WHERE destino = :destino", nativeQuery = true)
+    int avanzar(@Param("destino") String destino, @Param("ultimoId") long ultimoId, @Param("cantidad") long cantidad,
+                @Param("fecha") LocalDateTime fecha);
+
+    // Si dos despachadores crean la fila a la vez, el segundo no hace nada en lugar de fallar por la clave
+    @Modifying
+    @Query(value = "INSERT INTO offsets_publicacion (destino, ultimo_evento_id, publicados, actualizado_en) "
+            + "VALUES (:destino, 0, 0, :fecha) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int crearSiNoExiste(@Param("destino") String destino, @Param("fecha") LocalDateTime fecha);
+}
@@ -0,0 +1,17 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.PuntoControlSaldo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PuntoControlSaldoRepository extends JpaRepository<PuntoControlSaldo, Long> {
+
+    @Query("SELECT p FROM PuntoControlSaldo p WHERE p.cuentaId = :cuentaId AND p.fechaHora <= :fecha " +
+            "ORDER BY p.fechaHora DESC, p.numero DESC")
+    List<PuntoControlSaldo> findUltimoAl(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDateTime fecha, Limit limit);
+}
@@ -0,0 +1,36 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.ResumenCuenta;
+import com.example.banco.model.enums.PeriodoResumen;
+import com.example.banco.model.enums.TipoAsiento;
+import com.example.banco.model.enums.TipoTransaccion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumenCuentaRepository extends JpaRepository<ResumenCuenta, Long> {
+
+    @Modifying
+    @Query("UPDATE ResumenCuenta r SET r.cantidad = r.cantidad + :cantidad, r.monto = r.monto + :monto " +
+            "WHERE r.cuentaId = :cuentaId AND r.periodo = :periodo AND r.fecha = :fecha " +
+            "AND r.tipoTransaccion = :tipoTransaccion AND r.tipoAsiento = :tipoAsiento")
+    int sumar(@Param("cuentaId") Long cuentaId, @Param("periodo") PeriodoResumen periodo, @Param("fecha") LocalDate fecha,
+              @Param("tipoTransaccion") TipoTransaccion tipoTransaccion, @Param("tipoAsiento") TipoAsiento tipoAsiento,
+              @Param("cantidad") long cantidad, @Param("monto") BigDecimal monto);
+
+    // Meses completos del rango más los días sueltos del principio y del final. Un rango vacío se
+    // pasa con desde posterior a hasta.
+    @Query("SELECT r FROM ResumenCuenta r WHERE r.cuentaId = :cuentaId AND (" +
+            "(r.periodo = com.example.banco.model.enums.PeriodoResumen.MES AND r.fecha BETWEEN :mesDesde AND :mesHasta) " +
+            "OR (r.periodo = com.example.banco.model.enums.PeriodoResumen.DIA AND r.fecha BETWEEN :inicioDesde AND :inicioHasta) " +
+            "OR (r.periodo = com.example.banco.model.enums.PeriodoResumen.DIA AND r.fecha BETWEEN :finDesde AND :finHasta))")
+    List<ResumenCuenta> findParaRango(@Param("cuentaId") Long cuentaId,
+                                      @Param("mesDesde") LocalDate mesDesde, @Param("mesHasta") LocalDate mesHasta,
+                                      @Param("inicioDesde") LocalDate inicioDesde, @Param("inicioHasta") LocalDate inicioHasta,
+                                      @Param("finDesde") LocalDate finDesde, @Param("finHasta") LocalDate finHasta);
+}
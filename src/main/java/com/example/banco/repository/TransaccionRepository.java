@@ -1,24 +1,152 @@
 package com.example.banco.repository;
 
+import com.example.banco.dto.response.TransaccionResponseDTO;
 import com.example.banco.model.Transaccion;
 import com.example.banco.model.enums.EstadoTransaccion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TransaccionRepository extends JpaRepository<Transaccion, Long> {
+public interface TransaccionRepository extends JpaRepository<Transaccion, Long>, BusquedaTransacciones {
 
-    List<Transaccion> findByEstado(EstadoTransaccion estado);
-
-    @Query("SELECT t FROM Transaccion t WHERE t.cuentaOrigen.id = :cuentaId OR t.cuentaDestino.id = :cuentaId")
-    List<Transaccion> findByCuentaId(@Param("cuentaId") Long cuentaId);
+    // Lecturas proyectadas directamente a TransaccionResponseDTO: un único SELECT con LEFT JOIN
+    // a las cuentas origen y destino, sin hidratar entidades. Los enums se leen como texto para
+    // que el record tenga un único constructor y sirva también a las consultas nativas.
+    String SELECT_TRANSACCION_RESPONSE = "SELECT new com.example.banco.dto.response.TransaccionResponseDTO(" +
+            "t.id, CAST(t.tipoTransaccion AS String), CAST(t.estado AS String), t.fechaHora, co.id, co.nroCuenta, cd.id, cd.nroCuenta, t.monto, t.descripcion) " +
+            "FROM Transaccion t LEFT JOIN t.cuentaOrigen co LEFT JOIN t.cuentaDestino cd ";
 
     List<Transaccion> findByCuentaOrigenIdAndFechaHoraBetween(
             Long cuentaId,
             LocalDateTime inicio,
             LocalDateTime fin
     );
+
+    @Query(SELECT_TRANSACCION_RESPONSE + "WHERE t.id = :id")
+    Optional<TransaccionResponseDTO> findResponseById(@Param("id") Long id);
+
+    // Paginación por keyset sobre (fechaHora, id): cada página continúa desde el último elemento
+    // de la anterior con una comparación de rango, sin OFFSET.
+    @Query(SELECT_TRANSACCION_RESPONSE + "WHERE (t.fechaHora, t.id) < (:fechaHora, :id) " +
+            "ORDER BY t.fechaHora DESC, t.id DESC")
+    List<TransaccionResponseDTO> findPagina(@Param("fechaHora") LocalDateTime fechaHora, @Param("id") Long id, Limit limit);
+
+    // Los movimientos de una cuenta son la unión de dos rangos disjuntos, cada uno servido por su
+    // propio índice (origen, fecha_hora, id) y (destino, fecha_hora, id). Con un OR el planificador
+    // no puede recorrer ninguno de los dos en orden y termina ordenando todo el historial.
+    String SELECT_TRANSACCION_RESPONSE_NATIVO = """
+            SELECT u.id AS id, u.tipo_transaccion AS tipoTransaccion, u.estado AS estadoTransaccion,
+                   u.fecha_hora AS fechaHora, co.id AS idCuentaOrigen, co.nro_cuenta AS nroCuentaOrigen,
+                   cd.id AS idCuentaDestino, cd.nro_cuenta AS nroCuentaDestino, u.monto AS monto,
+                   u.descripcion AS descripcion
+            """;
+    String JOIN_CUENTAS_NATIVO = """
+            LEFT JOIN cuentas co ON co.id = u.cuenta_origen_id
+            LEFT JOIN cuentas cd ON cd.id = u.cuenta_destino_id
+            """;
+
+    String PAGINA_POR_CUENTA = SELECT_TRANSACCION_RESPONSE_NATIVO + """
+            FROM (
+                (SELECT * FROM transacciones t
+                 WHERE t.cuenta_origen_id = :cuentaId AND (t.fecha_hora, t.id) < (:fechaHora, :id)
+                 ORDER BY t.fecha_hora DESC, t.id DESC LIMIT :limite)
+                UNION ALL
+                (SELECT * FROM transacciones t
+                 WHERE t.cuenta_destino_id = :cuentaId AND t.cuenta_origen_id IS DISTINCT FROM :cuentaId
+                   AND (t.fecha_hora, t.id) < (:fechaHora, :id)
+                 ORDER BY t.fecha_hora DESC, t.id DESC LIMIT :limite)
+            ) u
+            """ + JOIN_CUENTAS_NATIVO + """
+            ORDER BY u.fecha_hora DESC, u.id DESC LIMIT :limite
+            """;
+
+    String HISTORIAL_POR_CUENTA = SELECT_TRANSACCION_RESPONSE_NATIVO + """
+            FROM (
+                (SELECT * FROM transacciones t WHERE t.cuenta_origen_id = :cuentaId
+                 ORDER BY t.fecha_hora, t.id)
+                UNION ALL
+                (SELECT * FROM transacciones t
+                 WHERE t.cuenta_destino_id = :cuentaId AND t.cuenta_origen_id IS DISTINCT FROM :cuentaId
+                 ORDER BY t.fecha_hora, t.id)
+            ) u
+            """ + JOIN_CUENTAS_NATIVO + """
+            ORDER BY u.fecha_hora, u.id
+            """;
+
+    @Query(value = PAGINA_POR_CUENTA, nativeQuery = true)
+    List<TransaccionResponseDTO> findPaginaByCuentaId(@Param("cuentaId") Long cuentaId, @Param("fechaHora") LocalDateTime fechaHora,
+                                                     @Param("id") Long id, @Param("limite") int limite);
+
+    @Query(SELECT_TRANSACCION_RESPONSE + "WHERE t.estado = :estado " +
+            "AND (t.fechaHora, t.id) < (:fechaHora, :id) ORDER BY t.fechaHora DESC, t.id DESC")
+    List<TransaccionResponseDTO> findPaginaByEstado(@Param("estado") EstadoTransaccion estado, @Param("fechaHora") LocalDateTime fechaHora,
+                                                   @Param("id") Long id, Limit limit);
+
+    // Cursor de solo avance para exportaciones: el driver trae las filas de a 1000 y, al ser una
+    // proyección, el contexto de persistencia no retiene nada. Debe consumirse dentro de una transacción.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(value = HISTORIAL_POR_CUENTA, nativeQuery = true)
+    Stream<TransaccionResponseDTO> streamByCuentaId(@Param("cuentaId") Long cuentaId);
+
+    String HISTORIAL_POR_CUENTA_ENTRE = SELECT_TRANSACCION_RESPONSE_NATIVO + """
+            FROM (
+                (SELECT * FROM transacciones t WHERE t.cuenta_origen_id = :cuentaId
+                   AND t.fecha_hora >= :desde AND t.fecha_hora < :hasta
+                 ORDER BY t.fecha_hora, t.id)
+                UNION ALL
+                (SELECT * FROM transacciones t
+                 WHERE t.cuenta_destino_id = :cuentaId AND t.cuenta_origen_id IS DISTINCT FROM :cuentaId
+                   AND t.fecha_hora >= :desde AND t.fecha_hora < :hasta
+                 ORDER BY t.fecha_hora, t.id)
+            ) u
+            """ + JOIN_CUENTAS_NATIVO + """
+            ORDER BY u.fecha_hora, u.id
+            """;
+
+    // Para archivar un mes: sus cuentas en orden y, por cada una, sus transacciones del mes de la
+    // más vieja a la más reciente.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(value = """
+            SELECT cuenta_origen_id AS cuenta_id FROM transacciones
+            WHERE fecha_hora >= :desde AND fecha_hora < :hasta AND cuenta_origen_id IS NOT NULL
+            UNION
+            SELECT cuenta_destino_id FROM transacciones
+            WHERE fecha_hora >= :desde AND fecha_hora < :hasta AND cuenta_destino_id IS NOT NULL
+            ORDER BY cuenta_id
+            """, nativeQuery = true)
+    Stream<Long> streamCuentasEntre(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(value = HISTORIAL_POR_CUENTA_ENTRE, nativeQuery = true)
+    Stream<TransaccionResponseDTO> streamByCuentaIdEntre(@Param("cuentaId") Long cuentaId, @Param("desde") LocalDateTime desde,
+                                                         @Param("hasta") LocalDateTime hasta);
+
+    @Query("SELECT count(t) FROM Transaccion t WHERE t.fechaHora >= :desde AND t.fechaHora < :hasta")
+    long contarEntre(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    @Query("SELECT min(t.fechaHora) FROM Transaccion t")
+    LocalDateTime findFechaHoraMinima();
+
+    @Modifying
+    @Query("DELETE FROM Transaccion t WHERE t.fechaHora >= :desde AND t.fechaHora < :hasta")
+    int borrarEntre(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
 }
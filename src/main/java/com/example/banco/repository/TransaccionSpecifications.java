@@ -0,0 +1,70 @@
+package com.example.banco.repository;
+
+import com.example.banco.dto.request.CursorTransaccion;
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.model.Transaccion;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Predicados de la búsqueda de transacciones. Un filtro ausente no agrega condición, así que la
+// sentencia solo lleva las columnas que el usuario pidió.
+public class TransaccionSpecifications {
+
+    private TransaccionSpecifications() {
+    }
+
+    public static Specification<Transaccion> filtrar(FiltroTransaccionesDTO filtro) {
+        return Specification.allOf(Stream.of(
+                        cuentaOrigen(filtro.idCuentaOrigen()),
+                        cuentaDestino(filtro.idCuentaDestino()),
+                        igual("tipoTransaccion", filtro.tipoTransaccion()),
+                        igual("estado", filtro.estado()),
+                        desde(filtro.desde()),
+                        hasta(filtro.hasta()),
+                        montoMinimo(filtro.montoMinimo()),
+                        montoMaximo(filtro.montoMaximo()))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    // Keyset en orden (fechaHora DESC, id DESC). La condición sobre fechaHora sola es redundante
+    // pero le da al planificador un límite de rango sobre la columna del índice.
+    public static Specification<Transaccion> anteriorA(CursorTransaccion cursor) {
+        return (t, q, cb) -> cb.and(
+                cb.lessThanOrEqualTo(t.get("fechaHora"), cursor.fechaHora()),
+                cb.or(cb.lessThan(t.get("fechaHora"), cursor.fechaHora()),
+                        cb.and(cb.equal(t.get("fechaHora"), cursor.fechaHora()), cb.lessThan(t.get("id"), cursor.id()))));
+    }
+
+    private static Specification<Transaccion> cuentaOrigen(Long idCuenta) {
+        return idCuenta == null ? null : (t, q, cb) -> cb.equal(t.get("cuentaOrigen").get("id"), idCuenta);
+    }
+
+    private static Specification<Transaccion> cuentaDestino(Long idCuenta) {
+        return idCuenta == null ? null : (t, q, cb) -> cb.equal(t.get("cuentaDestino").get("id"), idCuenta);
+    }
+
+    private static Specification<Transaccion> igual(String atributo, Object valor) {
+        return valor == null ? null : (t, q, cb) -> cb.equal(t.get(atributo), valor);
+    }
+
+    private static Specification<Transaccion> desde(LocalDateTime desde) {
+        return desde == null ? null : (t, q, cb) -> cb.greaterThanOrEqualTo(t.get("fechaHora"), desde);
+    }
+
+    private static Specification<Transaccion> hasta(LocalDateTime hasta) {
+        return hasta == null ? null : (t, q, cb) -> cb.lessThan(t.get("fechaHora"), hasta);
+    }
+
+    private static Specification<Transaccion> montoMinimo(BigDecimal monto) {
+        return monto == null ? null : (t, q, cb) -> cb.greaterThanOrEqualTo(t.get("monto"), monto);
+    }
+
+    private static Specification<Transaccion> montoMaximo(BigDecimal monto) {
+        return monto == null ? null : (t, q, cb) -> cb.lessThanOrEqualTo(t.get("monto"), monto);
+    }
+}
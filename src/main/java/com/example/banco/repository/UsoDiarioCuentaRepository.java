@@ -0,0 +1,21 @@
+package com.example.banco.repository;
+
+import com.example.banco.model.UsoDiarioCuenta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface UsoDiarioCuentaRepository extends JpaRepository<UsoDiarioCuenta, Long> {
+
+    Optional<UsoDiarioCuenta> findByCuentaIdAndFecha(Long cuentaId, LocalDate fecha);
+
+    @Modifying
+    @Query("UPDATE UsoDiarioCuenta u SET u.montoRetirado = u.montoRetirado + :monto " +
+            "WHERE u.cuentaId = :cuentaId AND u.fecha = :fecha")
+    int sumarRetiro(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDate fecha, @Param("monto") BigDecimal monto);
+}
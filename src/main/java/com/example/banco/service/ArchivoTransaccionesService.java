@@ -0,0 +1,328 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.CursorTransaccion;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.ArchivoTransacciones;
+import com.example.banco.model.ArchivoTransaccionesCuenta;
+import com.example.banco.model.SegmentoArchivo;
+import com.example.banco.repository.ArchivoTransaccionesCuentaRepository;
+import com.example.banco.repository.ArchivoTransaccionesRepository;
+import com.example.banco.repository.TransaccionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Historial frío de transacciones. Los meses anteriores a banco.archivo.retencion-meses se copian a
+ * un archivo NDJSON comprimido por mes y se quitan de la tabla: con particiones mensuales se
+ * desprende y borra la partición completa, sin DELETE fila por fila. Archivo, índice y borrado van
+ * en la misma transacción; si algo falla el mes queda en la tabla y el próximo ciclo lo reescribe.
+ * <p>
+ * El archivo de un mes es una sucesión de miembros gzip, uno por cuenta, con sus transacciones de
+ * la más vieja a la más reciente (una transferencia está en el segmento de cada cuenta). El índice
+ * archivos_transacciones_cuentas guarda dónde empieza cada segmento y cuántas filas tiene: leer el
+ * historial de una cuenta descomprime solo sus filas, la exportación las copia en el orden en que
+ * están y un listado, que va de la más reciente a la más vieja, retiene a lo sumo una página.
+ * Lo archivado es siempre anterior a lo que queda en la tabla, así que el historial de una cuenta
+ * continúa en los archivos donde termina la tabla.
+ * <p>
+ * Está apagado por defecto. Para habilitarlo, banco.archivo.directorio debe ser una ruta absoluta
+ * en almacenamiento compartido por todas las instancias, porque cualquiera puede leer un mes que
+ * archivó otra. En PostgreSQL cada paso del mantenimiento toma un advisory lock de transacción:
+ * si otra instancia está archivando o creando particiones, el paso se saltea en lugar de competir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchivoTransaccionesService {
+
+    // Clave del advisory lock del mantenimiento, compartida por todas las instancias
+    private static final long CLAVE_BLOQUEO = 7_220_230_001L;
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int SEGMENTOS_POR_FLUSH = 1000;
+
+    private final TransaccionRepository transaccionRepository;
+    private final ArchivoTransaccionesRepository archivoRepository;
+    private final ArchivoTransaccionesCuentaRepository archivoCuentaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry registry;
+
+    @Value("${banco.archivo.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${banco.archivo.directorio:}")
+    private String directorio;
+
+    @Value("${banco.archivo.retencion-meses:12}")
+    private int retencionMeses;
+
+    // Solo PostgreSQL: la tabla está particionada por mes desde V7__particiones_transacciones.sql
+    @Value("${banco.transacciones.particiones.habilitado:false}")
+    private boolean particionado;
+
+    @Value("${banco.transacciones.particiones.meses-adelantados:2}")
+    private int mesesAdelantados;
+
+    @PostConstruct
+    void validarDirectorio() {
+        if (habilitado && (directorio.isBlank() || !Path.of(directorio).isAbsolute())) {
+            throw new IllegalStateException("banco.archivo.directorio debe ser una ruta absoluta en almacenamiento "
+                    + "compartido por todas las instancias para habilitar el archivo de transacciones");
+        }
+    }
+
+    @Scheduled(cron = "${banco.archivo.cron:0 30 3 * * *}")
+    public void mantenimientoProgramado() {
+        if (!habilitado) {
+            return;
+        }
+        crearParticiones();
+        archivar();
+    }
+
+    // Las particiones de los próximos meses se crean antes de que lleguen sus transacciones; si
+    // faltara alguna, las filas caen en transacciones_default y nada se pierde.
+    public void crearParticiones() {
+        if (!particionado) {
+            return;
+        }
+        YearMonth actual = YearMonth.now();
+        transactionTemplate.executeWithoutResult(estado -> {
+            if (!tomarBloqueo()) {
+                log.info("Otra instancia está en el mantenimiento de transacciones; no se crean particiones");
+                return;
+            }
+            for (int i = 0; i <= mesesAdelantados; i++) {
+                entityManager.createNativeQuery("SELECT crear_particion_transacciones(:mes)")
+                        .setParameter("mes", actual.plusMonths(i).atDay(1))
+                        .getSingleResult();
+            }
+        });
+    }
+
+    public int archivar() {
+        YearMonth limite = YearMonth.now().minusMonths(retencionMeses);
+        LocalDateTime masVieja = transaccionRepository.findFechaHoraMinima();
+        int meses = 0;
+        if (masVieja != null) {
+            for (YearMonth mes = YearMonth.from(masVieja); mes.isBefore(limite); mes = mes.plusMonths(1)) {
+                if (archivarMes(mes) > 0) {
+                    meses++;
+                }
+            }
+        }
+        return meses;
+    }
+
+    public long archivarMes(YearMonth mes) {
+        LocalDateTime desde = mes.atDay(1).atStartOfDay();
+        LocalDateTime hasta = mes.plusMonths(1).atDay(1).atStartOfDay();
+        Path archivo = Path.of(directorio, "transacciones_" + mes.format(FORMATO_MES) + ".ndjson.gz");
+
+        Long cantidad = transactionTemplate.execute(estado -> {
+            if (!tomarBloqueo()) {
+                log.info("Otra instancia está en el mantenimiento de transacciones; no se archiva {}", mes);
+                return 0L;
+            }
+            long archivadas = transaccionRepository.contarEntre(desde, hasta);
+            if (archivadas > 0) {
+                escribir(mes, desde, hasta, archivo);
+                archivoRepository.save(new ArchivoTransacciones(mes.atDay(1), archivo.toString(), archivadas));
+            }
+            quitarDeLaTabla(mes, desde, hasta);
+            return archivadas;
+        });
+
+        if (cantidad > 0) {
+            registry.counter("banco.archivo.transacciones").increment(cantidad);
+            log.info("Archivadas {} transacciones de {} en {}", cantidad, mes, archivo);
+        }
+        return cantidad;
+    }
+
+    // Transacciones archivadas de la cuenta anteriores a "posicion", de la más reciente a la más
+    // vieja. Los segmentos están en orden cronológico: de cada mes se retienen solo las últimas que
+    // faltan para la página, y la lectura se corta al llegar a la posición.
+    public List<TransaccionResponseDTO> buscarPorCuenta(Long cuentaId, CursorTransaccion posicion, int limite) {
+        List<TransaccionResponseDTO> resultado = new ArrayList<>();
+        for (SegmentoArchivo segmento : archivoCuentaRepository.findSegmentosByCuentaId(cuentaId)) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            if (segmento.mes().atStartOfDay().isAfter(posicion.fechaHora())) {
+                continue;
+            }
+
+            int faltan = limite - resultado.size();
+            ArrayDeque<TransaccionResponseDTO> ultimas = new ArrayDeque<>(faltan);
+            leer(segmento, transaccion -> {
+                if (!anterior(transaccion, posicion)) {
+                    return false;
+                }
+                if (ultimas.size() == faltan) {
+                    ultimas.removeFirst();
+                }
+                ultimas.addLast(transaccion);
+                return true;
+            });
+            ultimas.descendingIterator().forEachRemaining(resultado::add);
+        }
+        return resultado;
+    }
+
+    // Historial archivado de la cuenta en orden cronológico, en el formato de la exportación: cada
+    // segmento se copia tal como está, sin retener filas.
+    public void exportarPorCuenta(Long cuentaId, OutputStream salida) {
+        for (SegmentoArchivo segmento : archivoCuentaRepository.findSegmentosByCuentaId(cuentaId).reversed()) {
+            leer(segmento, transaccion -> {
+                try {
+                    salida.write(jsonMapper.writeValueAsBytes(transaccion));
+                    salida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
+        }
+    }
+
+    // Un segmento por cuenta, registrado en el índice a medida que se escribe. Se escribe a un
+    // temporal y se mueve al final: un fallo a mitad de camino no pisa un archivo anterior.
+    private void escribir(YearMonth mes, LocalDateTime desde, LocalDateTime hasta, Path archivo) {
+        try {
+            Path carpeta = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(carpeta);
+            Path temporal = Files.createTempFile(carpeta, "transacciones", ".tmp");
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE);
+                 Stream<Long> cuentas = transaccionRepository.streamCuentasEntre(desde, hasta)) {
+                OutputStream archivoAbierto = sinCerrar(Channels.newOutputStream(canal));
+                int segmentos = 0;
+                for (Long cuentaId : (Iterable<Long>) cuentas::iterator) {
+                    long desplazamiento = canal.position();
+                    long cantidad = 0;
+                    try (Stream<TransaccionResponseDTO> transacciones = transaccionRepository.streamByCuentaIdEntre(cuentaId, desde, hasta);
+                         Writer writer = new BufferedWriter(new OutputStreamWriter(
+                                 new GZIPOutputStream(archivoAbierto, 64 * 1024), StandardCharsets.UTF_8))) {
+                        for (TransaccionResponseDTO transaccion : (Iterable<TransaccionResponseDTO>) transacciones::iterator) {
+                            writer.write(jsonMapper.writeValueAsString(transaccion));
+                            writer.write('\n');
+                            cantidad++;
+                        }
+                    }
+                    entityManager.persist(new ArchivoTransaccionesCuenta(cuentaId, mes.atDay(1), desplazamiento, cantidad));
+                    if (++segmentos % SEGMENTOS_POR_FLUSH == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Cerrar el gzip de un segmento escribe su trailer y libera el compresor, pero no cierra el archivo
+    private static OutputStream sinCerrar(OutputStream salida) {
+        return new FilterOutputStream(salida) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private void quitarDeLaTabla(YearMonth mes, LocalDateTime desde, LocalDateTime hasta) {
+        String particion = "transacciones_p" + mes.format(FORMATO_MES);
+        if (particionado && existeParticion(particion)) {
+            entityManager.createNativeQuery("ALTER TABLE transacciones DETACH PARTITION " + particion).executeUpdate();
+            entityManager.createNativeQuery("DROP TABLE " + particion).executeUpdate();
+        } else {
+            transaccionRepository.borrarEntre(desde, hasta);
+        }
+    }
+
+    private boolean existeParticion(String particion) {
+        return (Boolean) entityManager.createNativeQuery("SELECT to_regclass(:nombre) IS NOT NULL")
+                .setParameter("nombre", particion)
+                .getSingleResult();
+    }
+
+    private boolean tomarBloqueo() {
+        if (!(entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect)) {
+            return true;
+        }
+        return (Boolean) entityManager.createNativeQuery("SELECT pg_try_advisory_xact_lock(:clave)")
+                .setParameter("clave", CLAVE_BLOQUEO)
+                .getSingleResult();
+    }
+
+    // Lee las filas del segmento desde su desplazamiento; el consumidor devuelve false para dejar de leer
+    private void leer(SegmentoArchivo segmento, Predicate<TransaccionResponseDTO> consumidor) {
+        Path ruta = Path.of(segmento.ruta());
+        if (!Files.exists(ruta)) {
+            throw new IllegalStateException("El archivo " + ruta + " del mes " + segmento.mes() + " no es visible desde "
+                    + "esta instancia; banco.archivo.directorio debe estar en almacenamiento compartido");
+        }
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                     Channels.newInputStream(canal.position(segmento.desplazamiento())), 64 * 1024), StandardCharsets.UTF_8))) {
+            for (long i = 0; i < segmento.cantidad(); i++) {
+                if (!consumidor.test(jsonMapper.readValue(reader.readLine(), TransaccionResponseDTO.class))) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean anterior(TransaccionResponseDTO transaccion, CursorTransaccion posicion) {
+        int comparacion = transaccion.fechaHora().compareTo(posicion.fechaHora());
+        return comparacion < 0 || (comparacion == 0 && transaccion.id() < posicion.id());
+    }
+}
@@ -6,6 +6,7 @@ import com.example.banco.exception.EntidadNoEncontradaException;
 import com.example.banco.mapper.ClienteMapper;
 import com.example.banco.model.Cliente;
 import com.example.banco.model.enums.EstadoCliente;
+import com.example.banco.replica.LecturaReplica;
 import com.example.banco.repository.ClienteRepository;
 import com.example.banco.service.interfaces.IClienteService;
 import lombok.RequiredArgsConstructor;
@@ -22,27 +23,22 @@ public class ClienteService implements IClienteService {
     public ClienteResponseDTO crearCliente(ClienteRequestDTO clienteDto) {
         Cliente cliente = ClienteMapper.toEntity(clienteDto);
         clienteRepository.save(cliente);
-        return ClienteMapper.toResponseDto(cliente);
+        return ClienteMapper.toResponseDto(cliente, 0);
     }
 
     public ClienteResponseDTO buscarPorId(Long id) {
-        Cliente cliente = clienteRepository.findById(id)
+        return clienteRepository.findConCantidadCuentasById(id)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Cliente no encontrado con id: " + id));
-
-        return ClienteMapper.toResponseDto(cliente);
     }
 
     public ClienteResponseDTO buscarPorDni(String dni) {
-        Cliente cliente = clienteRepository.findByDni(dni)
+        return clienteRepository.findConCantidadCuentasByDni(dni)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Cliente no encontrado con dni: " + dni));
-
-        return ClienteMapper.toResponseDto(cliente);
     }
 
+    @LecturaReplica
     public List<ClienteResponseDTO> listarClientes() {
-        return clienteRepository.findAll().stream()
-                .map(ClienteMapper::toResponseDto)
-                .toList();
+        return clienteRepository.findAllConCantidadCuentas();
     }
 
     public ClienteResponseDTO cambiarEstado(EstadoCliente estadoCliente, Long id){
@@ -52,7 +48,7 @@ public class ClienteService implements IClienteService {
         cliente.setEstado(estadoCliente);
         clienteRepository.save(cliente);
 
-        return  ClienteMapper.toResponseDto(cliente);
+        return buscarPorId(id);
     }
 
 }
@@ -0,0 +1,126 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.EstadisticasCacheDTO;
+import com.example.banco.repository.CuentaRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache de lectura de cuentas para las consultas por id y por número de cuenta. Guarda un solo
+ * CuentaResponseDTO por id; el número de cuenta no cambia nunca, así que se indexa aparte como
+ * nroCuenta -> id y no hace falta invalidarlo. Quien modifique saldo o estado de una cuenta debe
+ * llamar a invalidar(id).
+ * <p>
+ * Las caches son asíncronas aunque la carga se haga en el hilo llamador: dentro del lock de la
+ * cache solo se publica un CompletableFuture, y la consulta a la base corre fuera de él. Con una
+ * cache síncrona la consulta ocurre dentro de un bloque synchronized de ConcurrentHashMap, lo que
+ * fija el hilo virtual a su portador mientras espera a la base.
+ */
+@Service
+@RequiredArgsConstructor
+public class CuentaCacheService {
+
+    private final CuentaRepository cuentaRepository;
+
+    @Value("${banco.cuentas.cache.habilitado:true}")
+    private boolean cacheHabilitado;
+
+    @Value("${banco.cuentas.cache.max-entradas:50000}")
+    private long maxEntradas;
+
+    @Value("${banco.cuentas.cache.ttl-segundos:60}")
+    private long ttlSegundos;
+
+    private AsyncCache<Long, CuentaResponseDTO> cuentasPorId;
+    private AsyncCache<String, Long> idsPorNroCuenta;
+
+    @PostConstruct
+    void inicializar() {
+        cuentasPorId = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .buildAsync();
+        idsPorNroCuenta = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .buildAsync();
+    }
+
+    public Optional<CuentaResponseDTO> buscarPorId(Long id) {
+        if (!cacheHabilitado) {
+            return cuentaRepository.findResponseById(id);
+        }
+        return cargar(cuentasPorId, id, cuentaRepository::findResponseById);
+    }
+
+    public Optional<CuentaResponseDTO> buscarPorNroCuenta(String nroCuenta) {
+        if (!cacheHabilitado) {
+            return cuentaRepository.findResponseByNroCuenta(nroCuenta);
+        }
+        // El DTO siempre se carga a través de cuentasPorId, así una invalidación concurrente
+        // descarta la carga en curso en lugar de quedar pisada por un valor viejo.
+        return cargar(idsPorNroCuenta, nroCuenta, cuentaRepository::findIdByNroCuenta)
+                .flatMap(this::buscarPorId);
+    }
+
+    // Un solo hilo por clave ejecuta la consulta; los demás esperan el mismo future. Si la carga
+    // devuelve vacío o falla, Caffeine descarta la entrada.
+    private static <K, V> Optional<V> cargar(AsyncCache<K, V> cache, K clave, Function<K, Optional<V>> consulta) {
+        CompletableFuture<V> carga = new CompletableFuture<>();
+        CompletableFuture<V> valor = cache.get(clave, (k, executor) -> carga);
+        if (valor == carga) {
+            try {
+                carga.complete(consulta.apply(clave).orElse(null));
+            } catch (RuntimeException e) {
+                carga.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return Optional.ofNullable(valor.join());
+    }
+
+    /**
+     * Descarta la cuenta en el momento y de nuevo al terminar la transacción en curso: una lectura
+     * concurrente podría volver a cachear el valor anterior mientras la escritura no se confirmó.
+     * Descartar la entrada también descarta una carga en curso.
+     */
+    public void invalidar(Long id) {
+        if (!cacheHabilitado) {
+            return;
+        }
+        cuentasPorId.synchronous().invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cuentasPorId.synchronous().invalidate(id);
+                }
+            });
+        }
+    }
+
+    public EstadisticasCacheDTO estadisticas() {
+        CacheStats stats = cuentasPorId.synchronous().stats();
+        return new EstadisticasCacheDTO(
+                cacheHabilitado,
+                cuentasPorId.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
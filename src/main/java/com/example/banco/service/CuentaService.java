@@ -2,13 +2,20 @@ package com.example.banco.service;
 
 import com.example.banco.dto.request.CuentaRequestDTO;
 import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.EstadisticasCacheDTO;
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.ResumenCuentaDTO;
+import com.example.banco.dto.response.SaldoHistoricoDTO;
 import com.example.banco.exception.EntidadNoEncontradaException;
 import com.example.banco.exception.EstadoInvalidoException;
+import com.example.banco.exception.MotivoRechazo;
 import com.example.banco.exception.ValidacionException;
 import com.example.banco.mapper.CuentaMapper;
 import com.example.banco.model.Cliente;
 import com.example.banco.model.Cuenta;
 import com.example.banco.model.enums.EstadoCuenta;
+import com.example.banco.replica.LecturaReplica;
 import com.example.banco.repository.ClienteRepository;
 import com.example.banco.repository.CuentaRepository;
 import com.example.banco.service.interfaces.ICuentaService;
@@ -17,6 +24,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -24,6 +33,9 @@ import java.util.List;
 public class CuentaService implements ICuentaService {
     private final CuentaRepository cuentaRepository;
     private final ClienteRepository clienteRepository;
+    private final CuentaCacheService cuentaCacheService;
+    private final LibroMayorService libroMayorService;
+    private final ResumenCuentaService resumenCuentaService;
 
     @Transactional
     public CuentaResponseDTO crearCuenta(CuentaRequestDTO cuentaDto) {
@@ -33,41 +45,37 @@ public class CuentaService implements ICuentaService {
         Cuenta cuenta = CuentaMapper.toEntity(cuentaDto, cliente);
         validarApertura(cuenta.getMontoMinimoApertura(),cuentaDto.depositoInicial());
         cuenta.setSaldo(cuentaDto.depositoInicial());
-        cuentaRepository.save(cuenta);
-        cuenta.setNroCuenta(String.format("CTA-%05d", cuenta.getId()));
-
+        cuentaRepository.saveAndFlush(cuenta);
+        libroMayorService.abrirCuenta(cuenta);
 
-        cuentaRepository.save(cuenta);
         return CuentaMapper.toResponseDto(cuenta);
     }
 
     public void validarApertura(BigDecimal montoMinimoApertura, BigDecimal depositoInicial) {
         if (montoMinimoApertura.compareTo(depositoInicial) > 0) {
-            throw new ValidacionException("El depósito inicial es insuficiente. El mínimo requerido es $" + montoMinimoApertura);
+            throw new ValidacionException(MotivoRechazo.DEPOSITO_INICIAL_INSUFICIENTE, "El depósito inicial es insuficiente. El mínimo requerido es $" + montoMinimoApertura);
         }
     }
 
 
     public CuentaResponseDTO buscarPorId(Long id) {
-        Cuenta cuenta = cuentaRepository.findById(id)
+        return cuentaCacheService.buscarPorId(id)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con id: " + id));
-
-        return CuentaMapper.toResponseDto(cuenta);
     }
 
     public CuentaResponseDTO buscarPorNroCuenta(String nroCuenta) {
-        Cuenta cuenta = cuentaRepository.findByNroCuenta(nroCuenta)
+        return cuentaCacheService.buscarPorNroCuenta(nroCuenta)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con numero de cuenta: " + nroCuenta));
-
-        return CuentaMapper.toResponseDto(cuenta);
     }
 
+    @LecturaReplica
     public List<CuentaResponseDTO> buscarPorCliente(Long id){
-        return cuentaRepository.findByClienteId(id).stream().map(CuentaMapper::toResponseDto).toList();
+        return cuentaRepository.findResponseByClienteId(id);
     }
 
+    @LecturaReplica
     public List<CuentaResponseDTO> listarCuentas(){
-        return cuentaRepository.findAll().stream().map(CuentaMapper::toResponseDto).toList();
+        return cuentaRepository.findAllResponse();
     }
 
 
@@ -78,14 +86,37 @@ public class CuentaService implements ICuentaService {
         validarTransicionEstado(cuenta.getEstadoCuenta(),estado);
         cuenta.setEstadoCuenta(estado);
         cuentaRepository.save(cuenta);
+        cuentaCacheService.invalidar(id);
 
         return CuentaMapper.toResponseDto(cuenta);
     }
 
+    public SaldoHistoricoDTO saldoAl(Long id, LocalDateTime fecha) {
+        buscarPorId(id);
+        LocalDateTime momento = fecha != null ? fecha : LocalDateTime.now();
+        return new SaldoHistoricoDTO(id, momento, libroMayorService.saldoAl(id, momento));
+    }
+
+    @LecturaReplica
+    public ResumenCuentaDTO resumen(Long id, LocalDate desde, LocalDate hasta) {
+        buscarPorId(id);
+        return resumenCuentaService.resumen(id, desde, hasta);
+    }
+
+    @LecturaReplica
+    public PaginaResponseDTO<MovimientoExtractoDTO> extracto(Long id, LocalDate desde, LocalDate hasta, String cursor, Integer tamanio) {
+        buscarPorId(id);
+        return libroMayorService.extracto(id, desde, hasta, cursor, tamanio);
+    }
+
+    public EstadisticasCacheDTO estadisticasCache() {
+        return cuentaCacheService.estadisticas();
+    }
+
 
     private void validarTransicionEstado(EstadoCuenta actual, EstadoCuenta nuevo) {
         if (actual == EstadoCuenta.CERRADA) {
-            throw new EstadoInvalidoException("La cuenta está CERRADA y no admite más cambios.");
+            throw new EstadoInvalidoException(MotivoRechazo.CUENTA_CERRADA, "La cuenta está CERRADA y no admite más cambios.");
         }
 
         if (actual == nuevo) {
@@ -99,7 +130,7 @@ public class CuentaService implements ICuentaService {
         };
 
         if (!esValida) {
-            throw new EstadoInvalidoException(
+            throw new EstadoInvalidoException(MotivoRechazo.TRANSICION_ESTADO_INVALIDA,
                     String.format("Transición de estado no permitida: %s -> %s", actual, nuevo)
             );
         }
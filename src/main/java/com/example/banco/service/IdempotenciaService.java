@@ -0,0 +1,185 @@
+package com.example.banco.service;
+
+import com.example.banco.concurrencia.ReintentarConflictos;
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.RespuestaIdempotenteDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.ClaveIdempotenciaReutilizadaException;
+import com.example.banco.exception.EntidadNoEncontradaException;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.ClaveIdempotencia;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ClaveIdempotenciaRepository;
+import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.service.interfaces.IIdempotenciaService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicación de operaciones reintentadas por el cliente con el mismo Idempotency-Key.
+ * La clave se guarda en la misma transacción que la operación: si la operación falla no queda
+ * registrada y el reintento se procesa de nuevo. Las claves recientes se recuerdan en memoria
+ * para responder las repeticiones sin ir a la base.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotenciaService implements IIdempotenciaService {
+
+    private static final int LARGO_MAXIMO_CLAVE = 100;
+
+    private final ClaveIdempotenciaRepository claveIdempotenciaRepository;
+    private final TransaccionRepository transaccionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${banco.idempotencia.ttl-horas:24}")
+    private long ttlHoras;
+
+    @Value("${banco.idempotencia.cache.max-entradas:100000}")
+    private long maxEntradasCache;
+
+    @Value("${banco.idempotencia.purga.lote:1000}")
+    private int lotePurga;
+
+    private Cache<String, Respuesta> recientes;
+
+    @PostConstruct
+    void inicializar() {
+        recientes = Caffeine.newBuilder()
+                .maximumSize(maxEntradasCache)
+                .expireAfterWrite(Duration.ofHours(ttlHoras))
+                .build();
+    }
+
+    // Con clave, la operación y el registro de la clave comparten transacción: el reintento
+    // ante un conflicto de concurrencia tiene que envolver a las dos.
+    @Override
+    @ReintentarConflictos
+    public RespuestaIdempotenteDTO ejecutar(String clave, TipoTransaccion tipo, Object solicitud,
+                                            Supplier<TransaccionResponseDTO> operacion) {
+        if (clave == null) {
+            return new RespuestaIdempotenteDTO(operacion.get(), false);
+        }
+        if (clave.isBlank() || clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw new ValidacionException(MotivoRechazo.IDEMPOTENCY_KEY_INVALIDA, "El Idempotency-Key debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres");
+        }
+
+        String huella = huella(tipo, solicitud);
+        Respuesta previa = buscar(clave);
+        if (previa != null) {
+            return repetir(clave, huella, previa);
+        }
+
+        TransaccionResponseDTO transaccion;
+        try {
+            transaccion = transactionTemplate.execute(estado -> {
+                TransaccionResponseDTO resultado = operacion.get();
+                claveIdempotenciaRepository.saveAndFlush(new ClaveIdempotencia(clave, huella, resultado.id()));
+                return resultado;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud con la misma clave se confirmó primero: se revirtió esta operación
+            // y se responde con la original.
+            Respuesta original = buscar(clave);
+            if (original == null) {
+                throw e;
+            }
+            return repetir(clave, huella, original);
+        }
+
+        recientes.put(clave, new Respuesta(huella, transaccion));
+        return new RespuestaIdempotenteDTO(transaccion, false);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${banco.idempotencia.purga.intervalo-ms:600000}",
+            initialDelayString = "${banco.idempotencia.purga.intervalo-ms:600000}")
+    public int purgarVencidas() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(ttlHoras);
+        int total = 0;
+        int borradas;
+        do {
+            borradas = claveIdempotenciaRepository.borrarVencidas(limite, lotePurga);
+            total += borradas;
+        } while (borradas == lotePurga);
+
+        if (total > 0) {
+            log.info("Purgadas {} claves de idempotencia anteriores a {}", total, limite);
+        }
+        return total;
+    }
+
+    private Respuesta buscar(String clave) {
+        Respuesta respuesta = recientes.getIfPresent(clave);
+        if (respuesta != null) {
+            return respuesta;
+        }
+
+        return claveIdempotenciaRepository.findByClave(clave)
+                .map(registro -> {
+                    TransaccionResponseDTO transaccion = transaccionRepository.findResponseById(registro.getTransaccionId())
+                            .orElseThrow(() -> new EntidadNoEncontradaException("Transacción no encontrada con id: " + registro.getTransaccionId()));
+                    Respuesta encontrada = new Respuesta(registro.getHuella(), transaccion);
+                    recientes.put(clave, encontrada);
+                    return encontrada;
+                })
+                .orElse(null);
+    }
+
+    private RespuestaIdempotenteDTO repetir(String clave, String huella, Respuesta previa) {
+        if (!previa.huella().equals(huella)) {
+            throw new ClaveIdempotenciaReutilizadaException(
+                    "El Idempotency-Key " + clave + " ya fue usado con una solicitud distinta");
+        }
+        return new RespuestaIdempotenteDTO(previa.transaccion(), true);
+    }
+
+    private String huella(TipoTransaccion tipo, Object solicitud) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((tipo + ":" + canonica(solicitud)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Forma canónica de la solicitud: los montos se normalizan para que 100 y 100.00, que mueven
+    // el mismo dinero, den la misma huella.
+    private static String canonica(Object solicitud) {
+        return switch (solicitud) {
+            case DepositoRequestDTO deposito -> deposito.idCuenta() + "|" + monto(deposito.monto());
+            case RetiroRequestDTO retiro -> retiro.idCuenta() + "|" + monto(retiro.monto());
+            case TransferenciaRequestDTO transferencia -> transferencia.idCuentaOrigen() + "|"
+                    + transferencia.idCuentaDestino() + "|" + monto(transferencia.monto());
+            default -> throw new IllegalArgumentException("Solicitud sin forma canónica: " + solicitud.getClass().getSimpleName());
+        };
+    }
+
+    private static String monto(BigDecimal monto) {
+        return monto == null ? "" : monto.stripTrailingZeros().toPlainString();
+    }
+
+    private record Respuesta(String huella, TransaccionResponseDTO transaccion) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.mapper.CursorMapper;
+import com.example.banco.model.Asiento;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.PuntoControlSaldo;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.TipoAsiento;
+import com.example.banco.repository.AsientoRepository;
+import com.example.banco.repository.PuntoControlSaldoRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Libro mayor de las cuentas. Cada movimiento de saldo deja asientos inmutables de débito o
+ * crédito con el saldo resultante y un número correlativo por cuenta (Cuenta.ultimoAsiento), y
+ * cada intervalo-punto-control asientos se guarda además un punto de control del saldo. El saldo
+ * a una fecha se resuelve con el último punto de control anterior y un rango corto del índice de
+ * asientos, sin recorrer la historia. Los llamadores deben tener bloqueada la fila de la cuenta
+ * o, en modo optimista, haber escrito su nueva versión antes de guardar los asientos.
+ */
+@Service
+@RequiredArgsConstructor
+public class LibroMayorService {
+
+    private final AsientoRepository asientoRepository;
+    private final PuntoControlSaldoRepository puntoControlSaldoRepository;
+    private final PaginacionService paginacionService;
+    private final EntityManager entityManager;
+
+    @Value("${banco.libro-mayor.intervalo-punto-control:100}")
+    private long intervaloPuntoControl;
+
+    public void abrirCuenta(Cuenta cuenta) {
+        entityManager.persist(new PuntoControlSaldo(cuenta.getId(), cuenta.getUltimoAsiento(),
+                LocalDateTime.now(), cuenta.getSaldo()));
+    }
+
+    // Arma los asientos de una transacción cuyos saldos ya se aplicaron, sin persistirlos: en los
+    // lotes las transacciones se guardan recién al final.
+    public List<Asiento> asentar(Transaccion transaccion) {
+        List<Asiento> asientos = new ArrayList<>(2);
+        if (transaccion.getCuentaOrigen() != null) {
+            asientos.add(asiento(transaccion.getCuentaOrigen(), TipoAsiento.DEBITO, transaccion));
+        }
+        if (transaccion.getCuentaDestino() != null) {
+            asientos.add(asiento(transaccion.getCuentaDestino(), TipoAsiento.CREDITO, transaccion));
+        }
+        return asientos;
+    }
+
+    public void guardar(Long transaccionId, List<Asiento> asientos) {
+        for (Asiento asiento : asientos) {
+            asiento.setTransaccionId(transaccionId);
+            entityManager.persist(asiento);
+            if (asiento.getNumero() % intervaloPuntoControl == 0) {
+                entityManager.persist(new PuntoControlSaldo(asiento.getCuentaId(), asiento.getNumero(),
+                        asiento.getFechaHora(), asiento.getSaldoResultante()));
+            }
+        }
+    }
+
+    // Toda cuenta tiene un punto de control desde que se abre (o desde que se creó el libro
+    // mayor, para las anteriores): sin uno anterior a la fecha, el libro no conoce ese saldo y
+    // responder 0 sería inventarlo.
+    public BigDecimal saldoAl(Long cuentaId, LocalDateTime fecha) {
+        PuntoControlSaldo punto = puntoControlSaldoRepository.findUltimoAl(cuentaId, fecha, Limit.of(1)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ValidacionException(MotivoRechazo.FECHA_ANTERIOR_AL_LIBRO_MAYOR,
+                        "La fecha " + fecha + " es anterior al inicio del libro mayor de la cuenta " + cuentaId));
+
+        return asientoRepository.findSaldoAl(cuentaId, fecha, punto.getNumero(), Limit.of(1)).stream()
+                .findFirst()
+                .orElse(punto.getSaldo());
+    }
+
+    // El extracto es el tramo del libro mayor entre el último asiento anterior a desde y el último
+    // anterior al día siguiente a hasta. Los límites se resuelven con dos lecturas de una fila y
+    // cada página es un rango por número a partir del cursor, sin OFFSET ni cálculos por fila.
+    public PaginaResponseDTO<MovimientoExtractoDTO> extracto(Long cuentaId, LocalDate desde, LocalDate hasta,
+                                                             String cursor, Integer tamanio) {
+        if (desde.isAfter(hasta)) {
+            throw new ValidacionException(MotivoRechazo.RANGO_FECHAS_INVALIDO, "La fecha desde no puede ser posterior a la fecha hasta");
+        }
+        int tamanioPagina = paginacionService.resolverTamanioPagina(tamanio);
+
+        long inicio = numeroAntesDe(cuentaId, desde.atStartOfDay());
+        long fin = numeroAntesDe(cuentaId, hasta.plusDays(1).atStartOfDay());
+        Long posicion = CursorMapper.decodificarNumero(cursor);
+        long despuesDe = posicion != null ? Math.max(posicion, inicio) : inicio;
+
+        return paginacionService.paginar(tamanioPagina,
+                limite -> asientoRepository.findExtracto(cuentaId, despuesDe, fin, limite), CursorMapper::codificar);
+    }
+
+    private long numeroAntesDe(Long cuentaId, LocalDateTime fecha) {
+        return asientoRepository.findNumeroAntesDe(cuentaId, fecha, Limit.of(1)).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private Asiento asiento(Cuenta cuenta, TipoAsiento tipo, Transaccion transaccion) {
+        long numero = cuenta.getUltimoAsiento() + 1;
+        cuenta.setUltimoAsiento(numero);
+        return new Asiento(cuenta.getId(), numero, tipo, transaccion.getMonto(), cuenta.getSaldo(),
+                transaccion.getFechaHora());
+    }
+}
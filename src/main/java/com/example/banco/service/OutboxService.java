@@ -0,0 +1,169 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.EventoOutbox;
+import com.example.banco.repository.EventoOutboxRepository;
+import com.example.banco.repository.OffsetPublicacionRepository;
+import com.example.banco.service.destino.DestinoEventos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outbox transaccional de eventos de transacciones. Cada transacción completada escribe su evento
+ * en eventos_outbox dentro de la misma transacción que mueve el dinero, así que un evento existe
+ * si y solo si la operación se confirmó. Un despachador en segundo plano toma lotes de pendientes
+ * con SKIP LOCKED, los entrega al DestinoEventos configurado y los marca publicados en la misma
+ * transacción; si la entrega falla el lote se revierte y se reintenta en la próxima vuelta.
+ * <p>
+ * Los gauges de pendientes y retraso muestran lo medido al final de la última vuelta del
+ * despachador (o de la vuelta programada, si el despacho está desactivado en esta instancia), así
+ * que un scrape no consulta la base.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final OffsetPublicacionRepository offsetPublicacionRepository;
+    private final DestinoEventos destino;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final JsonMapper jsonMapper;
+
+    @Value("${banco.outbox.despacho.habilitado:true}")
+    private boolean despachoHabilitado;
+
+    @Value("${banco.outbox.despacho.lote:500}")
+    private int lote;
+
+    @Value("${banco.outbox.retencion-horas:24}")
+    private long retencionHoras;
+
+    @Value("${banco.outbox.purga.lote:1000}")
+    private int lotePurga;
+
+    private Counter publicados;
+    private volatile long pendientes;
+    private volatile LocalDateTime pendienteMasAntiguo;
+
+    @PostConstruct
+    void inicializar() {
+        publicados = Counter.builder("banco.outbox.publicados")
+                .description("Eventos entregados al destino")
+                .tag("destino", destino.nombre())
+                .register(registry);
+        Gauge.builder("banco.outbox.pendientes", this, servicio -> servicio.pendientes)
+                .description("Eventos todavía no publicados")
+                .register(registry);
+        Gauge.builder("banco.outbox.retraso", this, OutboxService::segundosDeRetraso)
+                .description("Antigüedad en segundos del evento pendiente más viejo")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // Debe llamarse dentro de la transacción de la operación
+    public void registrar(TransaccionResponseDTO transaccion) {
+        eventoOutboxRepository.save(new EventoOutbox(transaccion.id(), transaccion.tipoTransaccion(),
+                jsonMapper.writeValueAsString(transaccion)));
+    }
+
+    @Scheduled(fixedDelayString = "${banco.outbox.despacho.intervalo-ms:1000}",
+            initialDelayString = "${banco.outbox.despacho.intervalo-ms:1000}")
+    public void despacharProgramado() {
+        if (despachoHabilitado) {
+            despachar();
+        } else {
+            medirPendientes();
+        }
+    }
+
+    // Publica lotes hasta vaciar el outbox o hasta que el destino falle. Devuelve los publicados.
+    public int despachar() {
+        int total = 0;
+        int publicadosLote;
+        do {
+            try {
+                publicadosLote = transactionTemplate.execute(estado -> publicarLote());
+            } catch (RuntimeException e) {
+                log.warn("No se pudo publicar un lote de eventos en {}, se reintentará", destino.nombre(), e);
+                break;
+            }
+            total += publicadosLote;
+        } while (publicadosLote == lote);
+        medirPendientes();
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${banco.outbox.purga.intervalo-ms:600000}",
+            initialDelayString = "${banco.outbox.purga.intervalo-ms:600000}")
+    public int purgarPublicados() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(retencionHoras);
+        int total = 0;
+        int borrados;
+        do {
+            borrados = eventoOutboxRepository.borrarPublicados(limite, lotePurga);
+            total += borrados;
+        } while (borrados == lotePurga);
+
+        if (total > 0) {
+            log.info("Purgados {} eventos publicados antes de {}", total, limite);
+        }
+        return total;
+    }
+
+    private int publicarLote() {
+        List<EventoOutbox> eventos = eventoOutboxRepository.findPendientesForUpdate(Limit.of(lote));
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            destino.publicar(eventos);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falló la entrega al destino " + destino.nombre(), e);
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Long> ids = eventos.stream().map(EventoOutbox::getId).toList();
+        eventoOutboxRepository.marcarPublicados(ids, ahora);
+        registrarOffset(ids.getLast(), eventos.size(), ahora);
+        publicados.increment(eventos.size());
+        return eventos.size();
+    }
+
+    // La fila del destino se crea la primera vez; desde ahí cada lote es un único UPDATE atómico
+    private void registrarOffset(long ultimoId, int cantidad, LocalDateTime ahora) {
+        if (offsetPublicacionRepository.avanzar(destino.nombre(), ultimoId, cantidad, ahora) == 0) {
+            offsetPublicacionRepository.crearSiNoExiste(destino.nombre(), ahora);
+            offsetPublicacionRepository.avanzar(destino.nombre(), ultimoId, cantidad, ahora);
+        }
+    }
+
+    private void medirPendientes() {
+        pendientes = eventoOutboxRepository.countPendientes();
+        pendienteMasAntiguo = eventoOutboxRepository.findCreacionPendientes(Limit.of(1)).stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    // La antigüedad sigue creciendo entre vueltas aunque el evento más viejo sea el mismo
+    private double segundosDeRetraso() {
+        LocalDateTime creado = pendienteMasAntiguo;
+        return creado == null ? 0.0 : Duration.between(creado, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
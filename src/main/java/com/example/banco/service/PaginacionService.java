@@ -0,0 +1,48 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginación por cursor compartida por los listados de transacciones y los extractos: resuelve el
+ * tamaño de página contra banco.paginacion.* y arma la página con el cursor del último elemento.
+ */
+@Service
+public class PaginacionService {
+
+    @Value("${banco.paginacion.tamanio-defecto:50}")
+    private int tamanioPaginaDefecto;
+
+    @Value("${banco.paginacion.tamanio-maximo:500}")
+    private int tamanioPaginaMaximo;
+
+    public int resolverTamanioPagina(Integer tamanio) {
+        if (tamanio == null) {
+            return tamanioPaginaDefecto;
+        }
+        if (tamanio < 1) {
+            throw new ValidacionException(MotivoRechazo.TAMANIO_PAGINA_INVALIDO, "El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(tamanio, tamanioPaginaMaximo);
+    }
+
+    public <T> PaginaResponseDTO<T> paginar(int tamanioPagina, Function<Limit, List<T>> consulta,
+                                            Function<T, String> codificarCursor) {
+        // Se pide un elemento de más para saber si existe una página siguiente sin una consulta extra.
+        List<T> elementos = consulta.apply(Limit.of(tamanioPagina + 1));
+
+        String siguiente = null;
+        if (elementos.size() > tamanioPagina) {
+            elementos = elementos.subList(0, tamanioPagina);
+            siguiente = codificarCursor.apply(elementos.getLast());
+        }
+        return new PaginaResponseDTO<>(elementos, tamanioPagina, siguiente);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.ResumenCuentaDTO;
+import com.example.banco.dto.response.TotalMovimientoDTO;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.ResumenCuenta;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.PeriodoResumen;
+import com.example.banco.model.enums.TipoAsiento;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ResumenCuentaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totales por cuenta, día y mes de cada tipo de transacción, mantenidos en la misma transacción
+ * que la operación. Un resumen de un año lee a lo sumo 12 filas mensuales por tipo más los días
+ * sueltos de los extremos del rango, sin recorrer las transacciones. Como UsoDiarioService, los
+ * llamadores deben tener bloqueada la fila de la cuenta (o escrita su versión, en modo optimista).
+ */
+@Service
+@RequiredArgsConstructor
+public class ResumenCuentaService {
+
+    private final ResumenCuentaRepository resumenCuentaRepository;
+
+    // Las transacciones de un lote se agrupan antes de escribir: una fila por cuenta, período y
+    // tipo recibe un solo UPDATE aunque el lote la toque muchas veces.
+    public void registrar(List<Transaccion> transacciones) {
+        Map<Clave, Acumulado> acumulados = new LinkedHashMap<>();
+        for (Transaccion transaccion : transacciones) {
+            if (transaccion.getCuentaOrigen() != null) {
+                acumular(acumulados, transaccion.getCuentaOrigen().getId(), TipoAsiento.DEBITO, transaccion);
+            }
+            if (transaccion.getCuentaDestino() != null) {
+                acumular(acumulados, transaccion.getCuentaDestino().getId(), TipoAsiento.CREDITO, transaccion);
+            }
+        }
+
+        acumulados.forEach((clave, acumulado) -> {
+            int actualizadas = resumenCuentaRepository.sumar(clave.cuentaId(), clave.periodo(), clave.fecha(),
+                    clave.tipoTransaccion(), clave.tipoAsiento(), acumulado.cantidad(), acumulado.monto());
+            if (actualizadas == 0) {
+                resumenCuentaRepository.save(new ResumenCuenta(clave.cuentaId(), clave.periodo(), clave.fecha(),
+                        clave.tipoTransaccion(), clave.tipoAsiento(), acumulado.cantidad(), acumulado.monto()));
+            }
+        });
+    }
+
+    // El rango [desde, hasta] se parte en meses completos, que se leen de las filas mensuales, y los
+    // días sueltos antes del primero y después del último, que se leen de las diarias.
+    public ResumenCuentaDTO resumen(Long cuentaId, LocalDate desde, LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            throw new ValidacionException(MotivoRechazo.RANGO_FECHAS_INVALIDO, "La fecha desde no puede ser posterior a la fecha hasta");
+        }
+
+        LocalDate primerMes = desde.getDayOfMonth() == 1 ? desde : desde.withDayOfMonth(1).plusMonths(1);
+        LocalDate finMeses = hasta.plusDays(1).withDayOfMonth(1);
+        List<ResumenCuenta> filas;
+        if (primerMes.isBefore(finMeses)) {
+            filas = resumenCuentaRepository.findParaRango(cuentaId,
+                    primerMes, finMeses.minusMonths(1),
+                    desde, primerMes.minusDays(1),
+                    finMeses, hasta);
+        } else {
+            filas = resumenCuentaRepository.findParaRango(cuentaId,
+                    primerMes, primerMes.minusDays(1),
+                    desde, hasta,
+                    hasta.plusDays(1), hasta);
+        }
+
+        Map<TipoTotal, Acumulado> totales = new TreeMap<>(Comparator.comparing(TipoTotal::tipoTransaccion)
+                .thenComparing(TipoTotal::tipoAsiento));
+        for (ResumenCuenta fila : filas) {
+            totales.merge(new TipoTotal(fila.getTipoTransaccion(), fila.getTipoAsiento()),
+                    new Acumulado(fila.getCantidad(), fila.getMonto()), Acumulado::sumar);
+        }
+
+        List<TotalMovimientoDTO> resultado = new ArrayList<>(totales.size());
+        totales.forEach((tipo, acumulado) -> resultado.add(new TotalMovimientoDTO(tipo.tipoTransaccion().name(),
+                tipo.tipoAsiento().name(), acumulado.cantidad(), acumulado.monto())));
+        return new ResumenCuentaDTO(cuentaId, desde, hasta, resultado);
+    }
+
+    private void acumular(Map<Clave, Acumulado> acumulados, Long cuentaId, TipoAsiento tipoAsiento, Transaccion transaccion) {
+        LocalDate dia = transaccion.getFechaHora().toLocalDate();
+        Acumulado movimiento = new Acumulado(1, transaccion.getMonto());
+        acumulados.merge(new Clave(cuentaId, PeriodoResumen.DIA, dia, transaccion.getTipoTransaccion(), tipoAsiento),
+                movimiento, Acumulado::sumar);
+        acumulados.merge(new Clave(cuentaId, PeriodoResumen.MES, dia.withDayOfMonth(1), transaccion.getTipoTransaccion(), tipoAsiento),
+                movimiento, Acumulado::sumar);
+    }
+
+    private record Clave(Long cuentaId, PeriodoResumen periodo, LocalDate fecha, TipoTransaccion tipoTransaccion,
+                         TipoAsiento tipoAsiento) {
+    }
+
+    private record TipoTotal(TipoTransaccion tipoTransaccion, TipoAsiento tipoAsiento) {
+    }
+
+    private record Acumulado(long cantidad, BigDecimal monto) {
+        Acumulado sumar(Acumulado otro) {
+            return new Acumulado(cantidad + otro.cantidad, monto.add(otro.monto));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.LoteTransferenciaResponseDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.CuentaOcupadaException;
+import com.example.banco.metricas.ContadorSentencias;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.replica.ContextoRuteo;
+import com.example.banco.service.interfaces.ITransaccionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Modo opcional (banco.carriles.habilitado=true) que ejecuta depósitos, retiros y transferencias
+ * en carriles secuenciales por cuenta delante de TransaccionService. Cada cuenta cae siempre en el
+ * mismo carril (un executor de un solo hilo), así que sus operaciones ya llegan serializadas y el
+ * bloqueo de su fila no tiene competencia, mientras que cuentas de carriles distintos avanzan en
+ * paralelo. Las transferencias van al carril de la cuenta destino, que es el lado caliente cuando
+ * muchos clientes pagan a un mismo comercio; la cuenta origen sigue protegida por su bloqueo.
+ * <p>
+ * Cada carril tiene una cola acotada: si está llena la operación se rechaza con
+ * CuentaOcupadaException sin ejecutarse. Una vez encolada, el llamador espera el resultado sin
+ * timeout y aunque se interrumpa su hilo, porque abandonar una operación en curso podría
+ * confirmarla igual y un error invitaría a reintentarla. Si el llamador ya
+ * tiene una transacción abierta (operaciones con Idempotency-Key) la operación corre en su hilo
+ * para quedar dentro de esa transacción. El hilo del carril hereda el contexto de ruteo del llamador
+ * y sus sentencias SQL se suman al conteo de la solicitud (ContadorSentencias).
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "banco.carriles.habilitado", havingValue = "true")
+@RequiredArgsConstructor
+public class TransaccionCarrilesService implements ITransaccionService {
+
+    private final TransaccionService transaccionService;
+    private final MeterRegistry registry;
+
+    @Value("${banco.carriles.cantidad:16}")
+    private int cantidad;
+
+    @Value("${banco.carriles.capacidad:256}")
+    private int capacidad;
+
+    private ThreadPoolExecutor[] carriles;
+    private Counter rechazos;
+
+    @PostConstruct
+    void inicializar() {
+        carriles = new ThreadPoolExecutor[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            carriles[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacidad),
+                    Thread.ofPlatform().name("carril-" + i).daemon(true).factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        rechazos = Counter.builder("banco.carriles.rechazos")
+                .description("Operaciones rechazadas por carril lleno")
+                .register(registry);
+        Gauge.builder("banco.carriles.en-cola", this, servicio -> Arrays.stream(servicio.carriles)
+                        .mapToInt(carril -> carril.getQueue().size()).sum())
+                .description("Operaciones esperando en los carriles")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void detener() {
+        Arrays.stream(carriles).forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    @Override
+    public TransaccionResponseDTO depositar(DepositoRequestDTO depositoRequestDTO) {
+        return enCarril(depositoRequestDTO.idCuenta(), () -> transaccionService.depositar(depositoRequestDTO));
+    }
+
+    @Override
+    public TransaccionResponseDTO retirar(RetiroRequestDTO retiroRequestDTO) {
+        return enCarril(retiroRequestDTO.idCuenta(), () -> transaccionService.retirar(retiroRequestDTO));
+    }
+
+    @Override
+    public TransaccionResponseDTO transferir(TransferenciaRequestDTO transferenciaRequestDTO) {
+        return enCarril(transferenciaRequestDTO.idCuentaDestino(), () -> transaccionService.transferir(transferenciaRequestDTO));
+    }
+
+    // Un lote toca muchas cuentas y ya las bloquea en orden: no pasa por los carriles.
+    @Override
+    public LoteTransferenciaResponseDTO transferirLote(LoteTransferenciaRequestDTO loteTransferenciaRequestDTO) {
+        return transaccionService.transferirLote(loteTransferenciaRequestDTO);
+    }
+
+    @Override
+    public TransaccionResponseDTO buscarPorId(Long id) {
+        return transaccionService.buscarPorId(id);
+    }
+
+    @Override
+    public PaginaResponseDTO<TransaccionResponseDTO> listarTransacciones(String cursor, Integer tamanio) {
+        return transaccionService.listarTransacciones(cursor, tamanio);
+    }
+
+    @Override
+    public PaginaResponseDTO<TransaccionResponseDTO> listarTransaccionesPorCuenta(Long idCuenta, String cursor, Integer tamanio, boolean historico) {
+        return transaccionService.listarTransaccionesPorCuenta(idCuenta, cursor, tamanio, historico);
+    }
+
+    @Override
+    public PaginaResponseDTO<TransaccionResponseDTO> buscarTransacciones(FiltroTransaccionesDTO filtro, String cursor, Integer tamanio) {
+        return transaccionService.buscarTransacciones(filtro, cursor, tamanio);
+    }
+
+    @Override
+    public PaginaResponseDTO<TransaccionResponseDTO> listarTransaccionesPorEstado(EstadoTransaccion estado, String cursor, Integer tamanio) {
+        return transaccionService.listarTransaccionesPorEstado(estado, cursor, tamanio);
+    }
+
+    @Override
+    public void exportarTransaccionesPorCuenta(Long idCuenta, OutputStream salida) {
+        transaccionService.exportarTransaccionesPorCuenta(idCuenta, salida);
+    }
+
+    private <T> T enCarril(Long idCuenta, Supplier<T> operacion) {
+        if (idCuenta == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operacion.get();
+        }
+
+        ThreadPoolExecutor carril = carriles[Math.floorMod(Long.hashCode(idCuenta), carriles.length)];
+        Supplier<T> tarea = ContextoRuteo.propagar(ContadorSentencias.propagar(operacion));
+        Future<T> resultado;
+        try {
+            resultado = carril.submit(tarea::get);
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw new CuentaOcupadaException("La cuenta " + idCuenta + " tiene demasiadas operaciones en espera, intente nuevamente", e);
+        }
+
+        try {
+            return esperar(resultado);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Una interrupción no abandona la operación encolada: se sigue esperando su resultado y el
+    // estado de interrupción se restaura al terminar.
+    private static <T> T esperar(Future<T> resultado) throws ExecutionException {
+        boolean interrumpido = false;
+        try {
+            while (true) {
+                try {
+                    return resultado.get();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+        } finally {
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
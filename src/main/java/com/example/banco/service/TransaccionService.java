@@ -1,53 +1,134 @@
 package com.example.banco.service;
 
+import com.example.banco.concurrencia.ReintentarConflictos;
+import com.example.banco.dto.request.CursorTransaccion;
 import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
 import com.example.banco.dto.request.RetiroRequestDTO;
 import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.LoteTransferenciaResponseDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.ResultadoLoteDTO;
 import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.CuentaOcupadaException;
 import com.example.banco.exception.EntidadNoEncontradaException;
+import com.example.banco.exception.MotivoRechazo;
 import com.example.banco.exception.ValidacionException;
+import com.example.banco.mapper.CursorMapper;
 import com.example.banco.mapper.TransaccionMapper;
+import com.example.banco.model.Asiento;
 import com.example.banco.model.Cuenta;
 import com.example.banco.model.Transaccion;
 import com.example.banco.model.enums.EstadoCuenta;
 import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.ModoConcurrencia;
+import com.example.banco.model.enums.ModoLote;
 import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.replica.LecturaReplica;
 import com.example.banco.repository.CuentaRepository;
 import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.repository.TransaccionSpecifications;
 import com.example.banco.service.interfaces.ITransaccionService;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransaccionService implements ITransaccionService {
     private final TransaccionRepository transaccionRepository;
     private final CuentaRepository cuentaRepository;
-
+    private final UsoDiarioService usoDiarioService;
+    private final CuentaCacheService cuentaCacheService;
+    private final LibroMayorService libroMayorService;
+    private final OutboxService outboxService;
+    private final ArchivoTransaccionesService archivoTransaccionesService;
+    private final ResumenCuentaService resumenCuentaService;
+    private final PaginacionService paginacionService;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    @Value("${banco.transacciones.lote.max-items:50000}")
+    private int maxItemsLote;
+
+    // Un lote puede tocar hasta el doble de cuentas que transferencias: se bloquean en consultas de
+    // a este tamaño para no pasar el límite de 65535 parámetros por sentencia de PostgreSQL.
+    @Value("${banco.transacciones.lote.cuentas-por-consulta:1000}")
+    private int cuentasPorConsulta;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanioBatch;
+
+    @Value("${banco.concurrencia.modo:PESIMISTA}")
+    private ModoConcurrencia modoConcurrencia;
+
+    @Value("${banco.transacciones.busqueda.rango-maximo-dias:31}")
+    private long rangoMaximoBusquedaDias;
+
+    @ReintentarConflictos
     @Transactional
     public TransaccionResponseDTO depositar(DepositoRequestDTO depositoDto) {
-        Cuenta cuenta = cuentaRepository.findById(depositoDto.idCuenta())
-                .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con id: " + depositoDto.idCuenta()));
+        Cuenta cuenta = bloquearCuenta(depositoDto.idCuenta());
 
         validarEstadoCuenta(cuenta);
         Transaccion transaccion = crearTransaccionDeposito(depositoDto, cuenta);
         actualizarSaldoDeposito(depositoDto.monto(), cuenta);
         transaccion.setEstado(EstadoTransaccion.COMPLETADA);
-
+        List<Asiento> asientos = libroMayorService.asentar(transaccion);
+        verificarVersion();
+        resumenCuentaService.registrar(List.of(transaccion));
 
         transaccionRepository.save(transaccion);
+        libroMayorService.guardar(transaccion.getId(), asientos);
         cuentaRepository.save(cuenta);
 
-        return TransaccionMapper.toResponseDto(transaccion);
+        return publicar(transaccion);
 
     }
 
+    // Toda operación que cambia saldos pasa por el bloqueo de la cuenta: es el punto donde se
+    // invalida su entrada en la cache de lecturas.
+    // En modo optimista la cuenta se lee sin bloqueo y el conflicto se detecta por su versión al
+    // escribirla (verificarVersion).
+    private Cuenta bloquearCuenta(Long id) {
+        try {
+            Cuenta cuenta = (modoConcurrencia == ModoConcurrencia.OPTIMISTA
+                    ? cuentaRepository.findById(id)
+                    : cuentaRepository.findByIdForUpdate(id))
+                    .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con id: " + id));
+            cuentaCacheService.invalidar(id);
+            return cuenta;
+        } catch (PessimisticLockingFailureException e) {
+            throw new CuentaOcupadaException("La cuenta " + id + " está siendo operada por otra transacción, intente nuevamente", e);
+        }
+    }
+
     private Transaccion crearTransaccionDeposito(DepositoRequestDTO depositoDto, Cuenta cuenta) {
         Transaccion transaccion = new Transaccion();
         transaccion.setTipoTransaccion(TipoTransaccion.DEPOSITO);
@@ -55,26 +136,32 @@ public class TransaccionService implements ITransaccionService {
         transaccion.setCuentaDestino(cuenta);
         transaccion.setCuentaOrigen(null);
         transaccion.setMonto(depositoDto.monto());
-        transaccion.setFechaHora(LocalDateTime.now());
+        transaccion.setFechaHora(ahora());
 
         return transaccion;
     }
 
 
+    // Las columnas TIMESTAMP(6) guardan microsegundos: sin truncar, la fecha devuelta podría no
+    // coincidir con la guardada y quedar fuera de un cursor o de una consulta de saldo a esa fecha.
+    private static LocalDateTime ahora() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     private void actualizarSaldoDeposito(BigDecimal monto, Cuenta cuenta) {
         cuenta.setSaldo(cuenta.getSaldo().add(monto));
     }
 
     private void validarEstadoCuenta(Cuenta cuenta) {
         if (!cuenta.getEstadoCuenta().equals(EstadoCuenta.ACTIVA)) {
-            throw new ValidacionException("No se puede depositar a una cuenta inactiva");
+            throw new ValidacionException(MotivoRechazo.CUENTA_INACTIVA, "No se puede depositar a una cuenta inactiva");
         }
     }
 
+    @ReintentarConflictos
     @Transactional
     public TransaccionResponseDTO retirar(RetiroRequestDTO retiroDto) {
-        Cuenta cuenta = cuentaRepository.findById(retiroDto.idCuenta())
-                .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con id: " + retiroDto.idCuenta()));
+        Cuenta cuenta = bloquearCuenta(retiroDto.idCuenta());
 
         validarEstadoCuenta(cuenta);
         validarSaldoRetiro(retiroDto.monto(), cuenta);
@@ -82,40 +169,35 @@ public class TransaccionService implements ITransaccionService {
         Transaccion transaccion = crearTransaccionRetiro(retiroDto, cuenta);
         actualizarSaldoRetiro(retiroDto.monto(), cuenta);
         transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+        List<Asiento> asientos = libroMayorService.asentar(transaccion);
+        verificarVersion();
+        usoDiarioService.registrarRetiro(cuenta.getId(), retiroDto.monto());
+        resumenCuentaService.registrar(List.of(transaccion));
 
         transaccionRepository.save(transaccion);
+        libroMayorService.guardar(transaccion.getId(), asientos);
         cuentaRepository.save(cuenta);
 
-        return TransaccionMapper.toResponseDto(transaccion);
+        return publicar(transaccion);
     }
 
-    private void validarSaldoRetiro(BigDecimal monto, Cuenta cuenta) {
+    void validarSaldoRetiro(BigDecimal monto, Cuenta cuenta) {
         if (monto.compareTo(cuenta.getSaldo()) > 0) {
-            throw new ValidacionException("No tienes saldo suficiente para esta operación");
+            throw new ValidacionException(MotivoRechazo.SALDO_INSUFICIENTE, "No tienes saldo suficiente para esta operación");
         }
 
         BigDecimal saldoDespuesDeRetiro = cuenta.getSaldo().subtract(monto);
         if (saldoDespuesDeRetiro.compareTo(cuenta.getSaldoMinimo()) < 0) {
-            throw new ValidacionException("El retiro dejaría la cuenta por debajo del saldo mínimo de $" + cuenta.getSaldoMinimo());
+            throw new ValidacionException(MotivoRechazo.SALDO_MINIMO, "El retiro dejaría la cuenta por debajo del saldo mínimo de $" + cuenta.getSaldoMinimo());
         }
     }
 
-    private void validarLimiteRetiroDiario(Cuenta cuenta, BigDecimal monto) {
-        LocalDateTime inicioDelDia = LocalDate.now().atStartOfDay();
-        LocalDateTime finDelDia = LocalDate.now().atTime(23, 59, 59);
-        List<Transaccion> transaccionesDelDia = listarTransaccionesPorFechaHora(cuenta.getId(), inicioDelDia, finDelDia);
-
-        List<Transaccion> retirosDeHoy = transaccionesDelDia.stream()
-                .filter(transaccion -> transaccion.getTipoTransaccion().equals(TipoTransaccion.RETIRO))
-                .toList();
-
-        BigDecimal montoDiario = retirosDeHoy.stream()
-                .map(Transaccion::getMonto)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    void validarLimiteRetiroDiario(Cuenta cuenta, BigDecimal monto) {
+        BigDecimal montoDiario = usoDiarioService.montoRetiradoHoy(cuenta.getId());
 
         BigDecimal totalConNuevoRetiro = montoDiario.add(monto);
         if (totalConNuevoRetiro.compareTo(cuenta.getLimiteRetiroDiario()) > 0) {
-            throw new ValidacionException("El retiro excede el límite diario de $" + cuenta.getLimiteRetiroDiario() +
+            throw new ValidacionException(MotivoRechazo.LIMITE_RETIRO_DIARIO, "El retiro excede el límite diario de $" + cuenta.getLimiteRetiroDiario() +
                     ". Ya retiraste $" + montoDiario + " hoy.");
         }
 
@@ -129,7 +211,7 @@ public class TransaccionService implements ITransaccionService {
         transaccion.setCuentaDestino(null);
         transaccion.setCuentaOrigen(cuenta);
         transaccion.setMonto(retiroDto.monto());
-        transaccion.setFechaHora(LocalDateTime.now());
+        transaccion.setFechaHora(ahora());
 
         return transaccion;
     }
@@ -141,48 +223,59 @@ public class TransaccionService implements ITransaccionService {
 
     private void validarSaldo(BigDecimal monto, Cuenta cuenta) {
         if (monto.compareTo(cuenta.getSaldo()) > 0) {
-            throw new ValidacionException("No tienes saldo suficiente para esta operación");
+            throw new ValidacionException(MotivoRechazo.SALDO_INSUFICIENTE, "No tienes saldo suficiente para esta operación");
         }
     }
 
+    @ReintentarConflictos
     @Transactional
     public TransaccionResponseDTO transferir(TransferenciaRequestDTO transferenciaDto) {
-        Cuenta cuentaDestino = cuentaRepository.findById(transferenciaDto.idCuentaDestino())
-                .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con id: " + transferenciaDto.idCuentaDestino()));
-
-        Cuenta cuentaOrigen = cuentaRepository.findById(transferenciaDto.idCuentaOrigen())
-                .orElseThrow(() -> new EntidadNoEncontradaException("Cuenta no encontrada con id: " + transferenciaDto.idCuentaOrigen()));
+        // Los bloqueos se toman siempre en orden de id ascendente: dos transferencias cruzadas
+        // (A->B y B->A) esperan por la misma fila primero y nunca forman un ciclo.
+        Cuenta cuentaOrigen;
+        Cuenta cuentaDestino;
+        if (transferenciaDto.idCuentaOrigen() <= transferenciaDto.idCuentaDestino()) {
+            cuentaOrigen = bloquearCuenta(transferenciaDto.idCuentaOrigen());
+            cuentaDestino = bloquearCuenta(transferenciaDto.idCuentaDestino());
+        } else {
+            cuentaDestino = bloquearCuenta(transferenciaDto.idCuentaDestino());
+            cuentaOrigen = bloquearCuenta(transferenciaDto.idCuentaOrigen());
+        }
 
         validarTransferencia(transferenciaDto.monto(), cuentaDestino, cuentaOrigen);
         Transaccion transaccion = crearTransaccionTransferencia(transferenciaDto, cuentaDestino, cuentaOrigen);
         transaccion.setEstado(EstadoTransaccion.COMPLETADA);
         actualizarSaldoRetiro(transferenciaDto.monto(), cuentaOrigen);
         actualizarSaldoDeposito(transferenciaDto.monto(), cuentaDestino);
+        List<Asiento> asientos = libroMayorService.asentar(transaccion);
+        verificarVersion();
+        resumenCuentaService.registrar(List.of(transaccion));
 
         transaccionRepository.save(transaccion);
+        libroMayorService.guardar(transaccion.getId(), asientos);
         cuentaRepository.save(cuentaDestino);
         cuentaRepository.save(cuentaOrigen);
 
-        return TransaccionMapper.toResponseDto(transaccion);
+        return publicar(transaccion);
 
 
 
     }
 
 
-    private void validarTransferencia(BigDecimal monto, Cuenta cuentaDestino, Cuenta cuentaOrigen) {
+    void validarTransferencia(BigDecimal monto, Cuenta cuentaDestino, Cuenta cuentaOrigen) {
 
         if (monto.compareTo(cuentaOrigen.getLimiteTransferencia()) > 0) {
-            throw new ValidacionException("El monto excede el límite de transferencia de $" + cuentaOrigen.getLimiteTransferencia());
+            throw new ValidacionException(MotivoRechazo.LIMITE_TRANSFERENCIA, "El monto excede el límite de transferencia de $" + cuentaOrigen.getLimiteTransferencia());
         }
 
         if (cuentaDestino.equals(cuentaOrigen)) {
-            throw new ValidacionException("No se puede transferir a uno mismo");
+            throw new ValidacionException(MotivoRechazo.TRANSFERENCIA_MISMA_CUENTA, "No se puede transferir a uno mismo");
 
         }
 
         if (!cuentaDestino.getEstadoCuenta().equals(EstadoCuenta.ACTIVA) || !cuentaOrigen.getEstadoCuenta().equals(EstadoCuenta.ACTIVA)) {
-            throw new ValidacionException("Cuentas inactivas");
+            throw new ValidacionException(MotivoRechazo.CUENTA_INACTIVA, "Cuentas inactivas");
         }
 
         validarSaldoRetiro(monto, cuentaOrigen);
@@ -199,40 +292,245 @@ public class TransaccionService implements ITransaccionService {
         transaccion.setCuentaDestino(cuentaDestino);
         transaccion.setCuentaOrigen(cuentaOrigen);
         transaccion.setMonto(transferenciaDto.monto());
-        transaccion.setFechaHora(LocalDateTime.now());
+        transaccion.setFechaHora(ahora());
 
         return transaccion;
 
     }
 
+    @ReintentarConflictos
+    @Transactional
+    public LoteTransferenciaResponseDTO transferirLote(LoteTransferenciaRequestDTO loteDto) {
+        List<TransferenciaRequestDTO> transferencias = loteDto.transferencias();
+        if (transferencias.size() > maxItemsLote) {
+            throw new ValidacionException(MotivoRechazo.LOTE_EXCEDIDO, "El lote supera el máximo de " + maxItemsLote + " transferencias");
+        }
+
+        Map<Long, Cuenta> cuentas = bloquearCuentasLote(transferencias);
+        Map<Long, BigDecimal> saldosIniciales = cuentas.values().stream()
+                .collect(Collectors.toMap(Cuenta::getId, Cuenta::getSaldo));
+        Map<Long, Long> asientosIniciales = cuentas.values().stream()
+                .collect(Collectors.toMap(Cuenta::getId, Cuenta::getUltimoAsiento));
+
+        Transaccion[] transacciones = new Transaccion[transferencias.size()];
+        List<List<Asiento>> asientos = new ArrayList<>(Collections.nCopies(transferencias.size(), null));
+        String[] errores = new String[transferencias.size()];
+        boolean rechazado = false;
+
+        for (int i = 0; i < transferencias.size() && !rechazado; i++) {
+            TransferenciaRequestDTO transferenciaDto = transferencias.get(i);
+            try {
+                Cuenta cuentaOrigen = cuentaLote(cuentas, transferenciaDto.idCuentaOrigen());
+                Cuenta cuentaDestino = cuentaLote(cuentas, transferenciaDto.idCuentaDestino());
+
+                validarTransferencia(transferenciaDto.monto(), cuentaDestino, cuentaOrigen);
+                Transaccion transaccion = crearTransaccionTransferencia(transferenciaDto, cuentaDestino, cuentaOrigen);
+                transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+                actualizarSaldoRetiro(transferenciaDto.monto(), cuentaOrigen);
+                actualizarSaldoDeposito(transferenciaDto.monto(), cuentaDestino);
+                transacciones[i] = transaccion;
+                asientos.set(i, libroMayorService.asentar(transaccion));
+            } catch (ValidacionException | EntidadNoEncontradaException e) {
+                errores[i] = e.getMessage();
+                rechazado = loteDto.modo() == ModoLote.TODO_O_NADA;
+            }
+        }
+
+        if (rechazado) {
+            // Se restauran los saldos cargados: Hibernate no detecta cambios y no emite ningún UPDATE.
+            cuentas.values().forEach(cuenta -> {
+                cuenta.setSaldo(saldosIniciales.get(cuenta.getId()));
+                cuenta.setUltimoAsiento(asientosIniciales.get(cuenta.getId()));
+            });
+        } else {
+            verificarVersion();
+            resumenCuentaService.registrar(Arrays.stream(transacciones).filter(Objects::nonNull).toList());
+            guardarTransaccionesLote(transacciones, asientos);
+        }
+
+        return armarRespuestaLote(loteDto.modo(), !rechazado, transacciones, errores);
+    }
+
+    // En modo optimista el UPDATE versionado de las cuentas se envía antes que cualquier INSERT:
+    // si otra operación las modificó falla acá (y se reintenta) sin haber tomado números de asiento
+    // ni escrito uso diario. En modo pesimista las filas ya están bloqueadas y no hace falta.
+    private void verificarVersion() {
+        if (modoConcurrencia == ModoConcurrencia.OPTIMISTA) {
+            cuentaRepository.flush();
+        }
+    }
+
+    // El evento se escribe en la misma transacción que la operación
+    private TransaccionResponseDTO publicar(Transaccion transaccion) {
+        TransaccionResponseDTO respuesta = TransaccionMapper.toResponseDto(transaccion);
+        outboxService.registrar(respuesta);
+        return respuesta;
+    }
+
+    private Map<Long, Cuenta> bloquearCuentasLote(List<TransferenciaRequestDTO> transferencias) {
+        TreeSet<Long> ids = new TreeSet<>();
+        transferencias.forEach(transferenciaDto -> {
+            ids.add(transferenciaDto.idCuentaOrigen());
+            ids.add(transferenciaDto.idCuentaDestino());
+        });
+
+        // Los bloques siguen el orden de los ids, así que las filas se bloquean en el mismo orden
+        // global que con una sola consulta y dos lotes no se bloquean mutuamente.
+        List<Long> ordenados = new ArrayList<>(ids);
+        Map<Long, Cuenta> cuentas = new HashMap<>();
+        try {
+            for (int desde = 0; desde < ordenados.size(); desde += cuentasPorConsulta) {
+                List<Long> bloque = ordenados.subList(desde, Math.min(desde + cuentasPorConsulta, ordenados.size()));
+                List<Cuenta> encontradas = modoConcurrencia == ModoConcurrencia.OPTIMISTA
+                        ? cuentaRepository.findAllById(bloque)
+                        : cuentaRepository.findAllByIdInForUpdate(bloque);
+                encontradas.forEach(cuenta -> cuentas.put(cuenta.getId(), cuenta));
+            }
+            cuentas.keySet().forEach(cuentaCacheService::invalidar);
+            return cuentas;
+        } catch (PessimisticLockingFailureException e) {
+            throw new CuentaOcupadaException("Alguna de las cuentas del lote está siendo operada por otra transacción, intente nuevamente", e);
+        }
+    }
+
+    private Cuenta cuentaLote(Map<Long, Cuenta> cuentas, Long id) {
+        Cuenta cuenta = cuentas.get(id);
+        if (cuenta == null) {
+            throw new EntidadNoEncontradaException("Cuenta no encontrada con id: " + id);
+        }
+        return cuenta;
+    }
+
+    private void guardarTransaccionesLote(Transaccion[] transacciones, List<List<Asiento>> asientos) {
+        int pendientes = 0;
+        for (int i = 0; i < transacciones.length; i++) {
+            Transaccion transaccion = transacciones[i];
+            if (transaccion == null) {
+                continue;
+            }
+            entityManager.persist(transaccion);
+            libroMayorService.guardar(transaccion.getId(), asientos.get(i));
+            outboxService.registrar(TransaccionMapper.toResponseDto(transaccion));
+            if (++pendientes == tamanioBatch) {
+                // Cada flush envía un batch JDBC; limpiar el contexto mantiene la memoria acotada
+                // en lotes de decenas de miles de transferencias.
+                entityManager.flush();
+                entityManager.clear();
+                pendientes = 0;
+            }
+        }
+    }
+
+    private LoteTransferenciaResponseDTO armarRespuestaLote(ModoLote modo, boolean aplicado,
+                                                          Transaccion[] transacciones, String[] errores) {
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(transacciones.length);
+        int exitosas = 0;
+        for (int i = 0; i < transacciones.length; i++) {
+            if (errores[i] != null) {
+                resultados.add(new ResultadoLoteDTO(i, false, null, errores[i]));
+            } else if (transacciones[i] == null) {
+                resultados.add(new ResultadoLoteDTO(i, false, null, "No procesada: el lote fue rechazado"));
+            } else if (!aplicado) {
+                resultados.add(new ResultadoLoteDTO(i, false, null, "Revertida: el lote fue rechazado"));
+            } else {
+                resultados.add(new ResultadoLoteDTO(i, true, TransaccionMapper.toResponseDto(transacciones[i]), null));
+                exitosas++;
+            }
+        }
+
+        return new LoteTransferenciaResponseDTO(modo.toString(), aplicado, transacciones.length,
+                exitosas, transacciones.length - exitosas, resultados);
+    }
+
     public TransaccionResponseDTO buscarPorId(Long id){
-        Transaccion transaccion = transaccionRepository.findById(id)
+        return transaccionRepository.findResponseById(id)
                 .orElseThrow(()-> new EntidadNoEncontradaException("Transaccion no encontrada con id: " + id));
+    }
+
+    @LecturaReplica
+    public PaginaResponseDTO<TransaccionResponseDTO> listarTransacciones(String cursor, Integer tamanio){
+        return paginar(cursor, tamanio,
+                (posicion, limite) -> transaccionRepository.findPagina(posicion.fechaHora(), posicion.id(), limite));
+    }
 
-        return  TransaccionMapper.toResponseDto(transaccion);
+    @LecturaReplica
+    public PaginaResponseDTO<TransaccionResponseDTO> listarTransaccionesPorCuenta(Long idCuenta, String cursor, Integer tamanio, boolean historico){
+        return paginar(cursor, tamanio, (posicion, limite) -> {
+            List<TransaccionResponseDTO> recientes = transaccionRepository.findPaginaByCuentaId(idCuenta, posicion.fechaHora(), posicion.id(), limite.max());
+            if (!historico || recientes.size() >= limite.max()) {
+                return recientes;
+            }
+
+            // La tabla se terminó antes de llenar la página: se sigue en los meses archivados, que
+            // son todos anteriores.
+            CursorTransaccion desde = recientes.isEmpty() ? posicion
+                    : new CursorTransaccion(recientes.getLast().fechaHora(), recientes.getLast().id());
+            List<TransaccionResponseDTO> pagina = new ArrayList<>(recientes);
+            pagina.addAll(archivoTransaccionesService.buscarPorCuenta(idCuenta, desde, limite.max() - recientes.size()));
+            return pagina;
+        });
     }
 
-    public List<TransaccionResponseDTO> listarTransacciones(){
-        return transaccionRepository.findAll().stream()
-                .map(TransaccionMapper::toResponseDto)
-                .toList();
+    @LecturaReplica
+    public PaginaResponseDTO<TransaccionResponseDTO> listarTransaccionesPorEstado(EstadoTransaccion estado, String cursor, Integer tamanio){
+        return paginar(cursor, tamanio,
+                (posicion, limite) -> transaccionRepository.findPaginaByEstado(estado, posicion.fechaHora(), posicion.id(), limite));
     }
 
-    public List<TransaccionResponseDTO> listarTransaccionesPorCuenta(Long idCuenta){
-        return transaccionRepository.findByCuentaId(idCuenta).stream()
-                .map(TransaccionMapper::toResponseDto)
-                .toList();
+    @LecturaReplica
+    public PaginaResponseDTO<TransaccionResponseDTO> buscarTransacciones(FiltroTransaccionesDTO filtro, String cursor, Integer tamanio){
+        validarBusqueda(filtro);
+        Specification<Transaccion> specification = TransaccionSpecifications.filtrar(filtro);
+        return paginar(cursor, tamanio,
+                (posicion, limite) -> transaccionRepository.buscar(specification.and(TransaccionSpecifications.anteriorA(posicion)), limite));
+    }
+
+    // Cada búsqueda tiene que poder empezar por un índice en el orden (fecha_hora, id) de la
+    // página: el de cuenta origen, el de cuenta destino, o el de fecha (o estado y fecha) con un
+    // rango acotado. Estado tiene solo tres valores, así que sin rango su índice recorre casi toda
+    // la tabla. Tipo y monto solo filtran las filas que ese índice ya recorre; sin ninguno de esos
+    // anclajes la consulta recorrería la tabla completa y se rechaza.
+    void validarBusqueda(FiltroTransaccionesDTO filtro) {
+        if (filtro.desde() != null && filtro.hasta() != null && filtro.desde().isAfter(filtro.hasta())) {
+            throw new ValidacionException(MotivoRechazo.RANGO_FECHAS_INVALIDO, "La fecha desde no puede ser posterior a la fecha hasta");
+        }
+        if (filtro.montoMinimo() != null && filtro.montoMaximo() != null && filtro.montoMinimo().compareTo(filtro.montoMaximo()) > 0) {
+            throw new ValidacionException(MotivoRechazo.RANGO_MONTOS_INVALIDO, "El monto mínimo no puede ser mayor al monto máximo");
+        }
+
+        boolean porCuenta = filtro.idCuentaOrigen() != null || filtro.idCuentaDestino() != null;
+        boolean rangoAcotado = filtro.desde() != null && filtro.hasta() != null
+                && !filtro.hasta().isAfter(filtro.desde().plusDays(rangoMaximoBusquedaDias));
+        if (!porCuenta && !rangoAcotado) {
+            throw new ValidacionException(MotivoRechazo.BUSQUEDA_NO_ACOTADA, "La búsqueda debe filtrar por cuenta origen, cuenta destino "
+                    + "o un rango de fechas de hasta " + rangoMaximoBusquedaDias + " días");
+        }
     }
 
-    public List<TransaccionResponseDTO> listarTransaccionesPorEstado(EstadoTransaccion estado){
-        return transaccionRepository.findByEstado(estado).stream()
-                .map(TransaccionMapper::toResponseDto)
-                .toList();
+    @LecturaReplica
+    public void exportarTransaccionesPorCuenta(Long idCuenta, OutputStream salida) {
+        if (!cuentaRepository.existsById(idCuenta)) {
+            throw new EntidadNoEncontradaException("Cuenta no encontrada con id: " + idCuenta);
+        }
+
+        try (Stream<TransaccionResponseDTO> transacciones = transaccionRepository.streamByCuentaId(idCuenta)) {
+            OutputStream buffer = new BufferedOutputStream(salida);
+            archivoTransaccionesService.exportarPorCuenta(idCuenta, buffer);
+            for (TransaccionResponseDTO transaccion : (Iterable<TransaccionResponseDTO>) transacciones::iterator) {
+                buffer.write(jsonMapper.writeValueAsBytes(transaccion));
+                buffer.write('\n');
+            }
+            buffer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    protected List<Transaccion> listarTransaccionesPorFechaHora(Long cuentaId,LocalDateTime fechaInicio, LocalDateTime fechaFin){
-        return transaccionRepository.findByCuentaOrigenIdAndFechaHoraBetween(cuentaId,fechaInicio,fechaFin).stream()
-                .toList();
+    private PaginaResponseDTO<TransaccionResponseDTO> paginar(String cursor, Integer tamanio,
+                                                             BiFunction<CursorTransaccion, Limit, List<TransaccionResponseDTO>> consulta) {
+        int tamanioPagina = paginacionService.resolverTamanioPagina(tamanio);
+        CursorTransaccion posicion = CursorMapper.decodificar(cursor);
+        return paginacionService.paginar(tamanioPagina, limite -> consulta.apply(posicion, limite), CursorMapper::codificar);
     }
 
-}
\ No newline at end of file
+}
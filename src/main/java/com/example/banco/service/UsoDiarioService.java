@@ -0,0 +1,36 @@
+package com.example.banco.service;
+
+import com.example.banco.model.UsoDiarioCuenta;
+import com.example.banco.repository.UsoDiarioCuentaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Acumulador por cuenta y por día del monto retirado. Reemplaza la suma de las transacciones
+ * del día: la validación del límite diario es una sola lectura sin importar cuántas operaciones
+ * haya hecho la cuenta. Los llamadores deben tener bloqueada la fila de la cuenta: el acumulado
+ * se lee siempre de la base bajo ese bloqueo, nunca de una copia en memoria, para que ningún
+ * retiro concurrente ni otra instancia pueda dejarlo desactualizado.
+ */
+@Service
+@RequiredArgsConstructor
+public class UsoDiarioService {
+
+    private final UsoDiarioCuentaRepository usoDiarioCuentaRepository;
+
+    public BigDecimal montoRetiradoHoy(Long cuentaId) {
+        return usoDiarioCuentaRepository.findByCuentaIdAndFecha(cuentaId, LocalDate.now())
+                .map(UsoDiarioCuenta::getMontoRetirado)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public void registrarRetiro(Long cuentaId, BigDecimal monto) {
+        LocalDate hoy = LocalDate.now();
+        if (usoDiarioCuentaRepository.sumarRetiro(cuentaId, hoy, monto) == 0) {
+            usoDiarioCuentaRepository.save(new UsoDiarioCuenta(cuentaId, hoy, monto));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.banco.service.destino;
+
+import com.example.banco.model.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Destino al que el despachador del outbox entrega los eventos de transacciones (un broker, un
+ * webhook, un archivo). La entrega es al menos una vez: si publicar() lanza una excepción el lote
+ * completo queda pendiente y se reintenta, así que los consumidores deben deduplicar por id.
+ */
+public interface DestinoEventos {
+
+    // Identifica el destino en offsets_publicacion
+    String nombre();
+
+    void publicar(List<EventoOutbox> eventos) throws Exception;
+}
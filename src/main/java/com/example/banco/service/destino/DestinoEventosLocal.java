@@ -0,0 +1,46 @@
+package com.example.banco.service.destino;
+
+import com.example.banco.model.EventoOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Destino por defecto: agrega cada lote como NDJSON al archivo banco.outbox.destino.archivo, o lo
+// escribe en el log si no hay archivo configurado.
+@Slf4j
+@Component
+public class DestinoEventosLocal implements DestinoEventos {
+
+    @Value("${banco.outbox.destino.archivo:}")
+    private String archivo;
+
+    @Override
+    public String nombre() {
+        return archivo.isBlank() ? "log" : "archivo";
+    }
+
+    @Override
+    public void publicar(List<EventoOutbox> eventos) throws IOException {
+        if (archivo.isBlank()) {
+            eventos.forEach(evento -> log.info("Evento {} ({}): {}", evento.getId(), evento.getTipo(), evento.getCarga()));
+            return;
+        }
+
+        StringBuilder lineas = new StringBuilder();
+        for (EventoOutbox evento : eventos) {
+            lineas.append("{\"id\":").append(evento.getId())
+                    .append(",\"tipo\":\"").append(evento.getTipo())
+                    .append("\",\"transaccion\":").append(evento.getCarga())
+                    .append("}\n");
+        }
+        Files.writeString(Path.of(archivo), lineas, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+    }
+}
@@ -2,8 +2,15 @@ package com.example.banco.service.interfaces;
 
 import com.example.banco.dto.request.CuentaRequestDTO;
 import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.EstadisticasCacheDTO;
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.ResumenCuentaDTO;
+import com.example.banco.dto.response.SaldoHistoricoDTO;
 import com.example.banco.model.enums.EstadoCuenta;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ICuentaService {
@@ -13,4 +20,10 @@ public interface ICuentaService {
     List<CuentaResponseDTO> buscarPorCliente(Long id);
     List<CuentaResponseDTO> listarCuentas();
     CuentaResponseDTO cambiarEstado(EstadoCuenta estado, Long id);
+    SaldoHistoricoDTO saldoAl(Long id, LocalDateTime fecha);
+
+    ResumenCuentaDTO resumen(Long id, LocalDate desde, LocalDate hasta);
+
+    PaginaResponseDTO<MovimientoExtractoDTO> extracto(Long id, LocalDate desde, LocalDate hasta, String cursor, Integer tamanio);
+    EstadisticasCacheDTO estadisticasCache();
 }
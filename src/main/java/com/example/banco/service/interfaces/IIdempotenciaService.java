@@ -0,0 +1,13 @@
+package com.example.banco.service.interfaces;
+
+import com.example.banco.dto.response.RespuestaIdempotenteDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.enums.TipoTransaccion;
+
+import java.util.function.Supplier;
+
+public interface IIdempotenciaService {
+    RespuestaIdempotenteDTO ejecutar(String clave, TipoTransaccion tipo, Object solicitud,
+                                     Supplier<TransaccionResponseDTO> operacion);
+    int purgarVencidas();
+}
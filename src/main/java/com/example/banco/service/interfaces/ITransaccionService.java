@@ -1,20 +1,27 @@
 package com.example.banco.service.interfaces;
 
 import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
 import com.example.banco.dto.request.RetiroRequestDTO;
 import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.LoteTransferenciaResponseDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
 import com.example.banco.dto.response.TransaccionResponseDTO;
 import com.example.banco.model.enums.EstadoTransaccion;
 
-import java.util.List;
+import java.io.OutputStream;
 
 public interface ITransaccionService {
     TransaccionResponseDTO depositar(DepositoRequestDTO depositoRequestDTO);
     TransaccionResponseDTO retirar(RetiroRequestDTO retiroRequestDTO);
     TransaccionResponseDTO transferir(TransferenciaRequestDTO transferenciaRequestDTO);
+    LoteTransferenciaResponseDTO transferirLote(LoteTransferenciaRequestDTO loteTransferenciaRequestDTO);
     TransaccionResponseDTO buscarPorId(Long id);
-    List<TransaccionResponseDTO> listarTransacciones();
-    List<TransaccionResponseDTO> listarTransaccionesPorCuenta(Long idCuenta);
-    List<TransaccionResponseDTO> listarTransaccionesPorEstado(EstadoTransaccion estado);
+    PaginaResponseDTO<TransaccionResponseDTO> listarTransacciones(String cursor, Integer tamanio);
+    PaginaResponseDTO<TransaccionResponseDTO> listarTransaccionesPorCuenta(Long idCuenta, String cursor, Integer tamanio, boolean historico);
+    PaginaResponseDTO<TransaccionResponseDTO> buscarTransacciones(FiltroTransaccionesDTO filtro, String cursor, Integer tamanio);
+    PaginaResponseDTO<TransaccionResponseDTO> listarTransaccionesPorEstado(EstadoTransaccion estado, String cursor, Integer tamanio);
+    void exportarTransaccionesPorCuenta(Long idCuenta, OutputStream salida);
 
 }
@@ -0,0 +1,55 @@
+-- Esquema base del banco. Es idempotente para poder aplicarse sobre bases creadas
+-- anteriormente con ddl-auto=update.
+
+CREATE SEQUENCE IF NOT EXISTS clientes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cuentas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transacciones_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS uso_diario_cuentas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS clientes (
+    id       BIGINT       NOT NULL PRIMARY KEY,
+    nombre   VARCHAR(255),
+    dni      VARCHAR(255) NOT NULL UNIQUE,
+    email    VARCHAR(255),
+    telefono VARCHAR(255),
+    estado   VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS cuentas (
+    id                    BIGINT NOT NULL PRIMARY KEY,
+    nro_cuenta            VARCHAR(255),
+    estado_cuenta         VARCHAR(255),
+    tipo_cuenta           VARCHAR(255),
+    cliente_id            BIGINT REFERENCES clientes (id),
+    limite_retiro_diario  NUMERIC(38, 2),
+    saldo_minimo          NUMERIC(38, 2),
+    monto_minimo_apertura NUMERIC(38, 2),
+    limite_transferencia  NUMERIC(38, 2),
+    saldo                 NUMERIC(38, 2)
+);
+
+CREATE TABLE IF NOT EXISTS transacciones (
+    id                BIGINT NOT NULL PRIMARY KEY,
+    tipo_transaccion  VARCHAR(255),
+    estado            VARCHAR(255),
+    fecha_hora        TIMESTAMP(6),
+    monto             NUMERIC(38, 2),
+    cuenta_origen_id  BIGINT REFERENCES cuentas (id),
+    cuenta_destino_id BIGINT REFERENCES cuentas (id),
+    descripcion       VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS uso_diario_cuentas (
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    cuenta_id      BIGINT         NOT NULL,
+    fecha          DATE           NOT NULL,
+    monto_retirado NUMERIC(38, 2) NOT NULL,
+    UNIQUE (cuenta_id, fecha)
+);
+
+-- Las tablas pueden venir de la época de ids IDENTITY: se adelantan las secuencias por encima
+-- del máximo existente, sin retrocederlas nunca.
+SELECT setval('clientes_seq', GREATEST((SELECT last_value FROM clientes_seq), COALESCE((SELECT max(id) FROM clientes), 0) + 50));
+SELECT setval('cuentas_seq', GREATEST((SELECT last_value FROM cuentas_seq), COALESCE((SELECT max(id) FROM cuentas), 0) + 50));
+SELECT setval('transacciones_seq', GREATEST((SELECT last_value FROM transacciones_seq), COALESCE((SELECT max(id) FROM transacciones), 0) + 50));
+SELECT setval('uso_diario_cuentas_seq', GREATEST((SELECT last_value FROM uso_diario_cuentas_seq), COALESCE((SELECT max(id) FROM uso_diario_cuentas), 0) + 50));
@@ -0,0 +1,21 @@
+-- Índices alineados con las consultas de los repositorios. Se crean CONCURRENTLY para no
+-- bloquear escrituras sobre tablas grandes (ver V2__indices_consultas.sql.conf).
+
+-- Movimientos de una cuenta: cada rama del UNION recorre su índice en orden (fecha_hora, id).
+-- El de origen también sirve al filtro por rango de fechas de los retiros.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_transacciones_origen_fecha
+    ON transacciones (cuenta_origen_id, fecha_hora, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_transacciones_destino_fecha
+    ON transacciones (cuenta_destino_id, fecha_hora, id);
+
+-- Listados paginados por keyset: global y filtrado por estado.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_transacciones_fecha
+    ON transacciones (fecha_hora, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_transacciones_estado_fecha
+    ON transacciones (estado, fecha_hora, id);
+
+-- Búsquedas de cuentas por número y por cliente.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_cuentas_nro_cuenta
+    ON cuentas (nro_cuenta);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_cuentas_cliente
+    ON cuentas (cliente_id);
@@ -0,0 +1,15 @@
+-- Claves de idempotencia de depósitos, retiros y transferencias. La unicidad de clave es la que
+-- garantiza que dos reintentos concurrentes no muevan dinero dos veces.
+
+CREATE SEQUENCE IF NOT EXISTS claves_idempotencia_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS claves_idempotencia (
+    id             BIGINT       NOT NULL PRIMARY KEY,
+    clave          VARCHAR(100) NOT NULL UNIQUE,
+    huella         VARCHAR(64)  NOT NULL,
+    transaccion_id BIGINT       NOT NULL,
+    creada_en      TIMESTAMP(6) NOT NULL
+);
+
+-- La purga recorre las claves por antigüedad
+CREATE INDEX IF NOT EXISTS ix_claves_idempotencia_creada ON claves_idempotencia (creada_en);
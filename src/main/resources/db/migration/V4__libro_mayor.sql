@@ -0,0 +1,53 @@
+-- Libro mayor: asientos inmutables de débito y crédito con el saldo resultante, y puntos de
+-- control periódicos del saldo por cuenta.
+
+ALTER TABLE cuentas ADD COLUMN IF NOT EXISTS ultimo_asiento BIGINT NOT NULL DEFAULT 0;
+
+CREATE SEQUENCE IF NOT EXISTS asientos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS puntos_control_saldo_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS asientos (
+    id               BIGINT         NOT NULL PRIMARY KEY,
+    cuenta_id        BIGINT         NOT NULL,
+    transaccion_id   BIGINT         NOT NULL,
+    numero           BIGINT         NOT NULL,
+    tipo             VARCHAR(20)    NOT NULL,
+    monto            NUMERIC(38, 2) NOT NULL,
+    saldo_resultante NUMERIC(38, 2) NOT NULL,
+    fecha_hora       TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT ux_asientos_cuenta_numero UNIQUE (cuenta_id, numero)
+);
+
+CREATE TABLE IF NOT EXISTS puntos_control_saldo (
+    id         BIGINT         NOT NULL PRIMARY KEY,
+    cuenta_id  BIGINT         NOT NULL,
+    numero     BIGINT         NOT NULL,
+    fecha_hora TIMESTAMP(6)   NOT NULL,
+    saldo      NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT ux_puntos_control_cuenta_numero UNIQUE (cuenta_id, numero)
+);
+
+CREATE INDEX IF NOT EXISTS ix_asientos_cuenta_fecha ON asientos (cuenta_id, fecha_hora, numero);
+CREATE INDEX IF NOT EXISTS ix_asientos_transaccion ON asientos (transaccion_id);
+CREATE INDEX IF NOT EXISTS ix_puntos_control_cuenta_fecha ON puntos_control_saldo (cuenta_id, fecha_hora, numero);
+
+-- El libro mayor solo admite inserciones
+CREATE OR REPLACE FUNCTION rechazar_modificacion_libro_mayor() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'La tabla % es de solo inserción', TG_TABLE_NAME;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tr_asientos_solo_insercion ON asientos;
+CREATE TRIGGER tr_asientos_solo_insercion BEFORE UPDATE OR DELETE ON asientos
+    FOR EACH ROW EXECUTE FUNCTION rechazar_modificacion_libro_mayor();
+
+DROP TRIGGER IF EXISTS tr_puntos_control_solo_insercion ON puntos_control_saldo;
+CREATE TRIGGER tr_puntos_control_solo_insercion BEFORE UPDATE OR DELETE ON puntos_control_saldo
+    FOR EACH ROW EXECUTE FUNCTION rechazar_modificacion_libro_mayor();
+
+-- Las cuentas existentes abren el libro con su saldo actual como punto de control 0
+INSERT INTO puntos_control_saldo (id, cuenta_id, numero, fecha_hora, saldo)
+SELECT nextval('puntos_control_saldo_seq'), c.id, 0, now(), COALESCE(c.saldo, 0)
+FROM cuentas c
+WHERE NOT EXISTS (SELECT 1 FROM puntos_control_saldo p WHERE p.cuenta_id = c.id AND p.numero = 0);
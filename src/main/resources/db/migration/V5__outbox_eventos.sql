@@ -0,0 +1,25 @@
+-- Outbox de eventos de transacciones y avance de publicación por destino.
+
+CREATE SEQUENCE IF NOT EXISTS eventos_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS eventos_outbox (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    transaccion_id BIGINT        NOT NULL,
+    tipo           VARCHAR(30)   NOT NULL,
+    carga          VARCHAR(4000) NOT NULL,
+    creado_en      TIMESTAMP(6)  NOT NULL,
+    publicado_en   TIMESTAMP(6)
+);
+
+-- Índice parcial: solo contiene los pendientes, así que se mantiene chico aunque la tabla guarde
+-- los eventos publicados hasta la purga.
+CREATE INDEX IF NOT EXISTS ix_eventos_outbox_pendientes ON eventos_outbox (id) WHERE publicado_en IS NULL;
+-- La purga recorre los publicados por fecha
+CREATE INDEX IF NOT EXISTS ix_eventos_outbox_publicado ON eventos_outbox (publicado_en) WHERE publicado_en IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS offsets_publicacion (
+    destino          VARCHAR(100) NOT NULL PRIMARY KEY,
+    ultimo_evento_id BIGINT       NOT NULL,
+    publicados       BIGINT       NOT NULL,
+    actualizado_en   TIMESTAMP(6) NOT NULL
+);
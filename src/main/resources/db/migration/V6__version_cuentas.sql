@@ -0,0 +1,4 @@
+-- Versión de la fila de cuentas para el control de concurrencia optimista (banco.concurrencia.modo).
+-- En modo pesimista también se incrementa, sin costo extra: va en el mismo UPDATE del saldo.
+
+ALTER TABLE cuentas ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,77 @@
+-- Particionado mensual de transacciones por fecha_hora. Las consultas acotadas por fecha (límite
+-- diario, listados recientes) solo recorren las particiones del rango, y el archivo de meses viejos
+-- desprende y borra una partición completa en lugar de borrar fila por fila.
+--
+-- La clave primaria de una tabla particionada tiene que incluir la columna de partición: pasa a ser
+-- (id, fecha_hora). Los ids siguen saliendo de transacciones_seq y ninguna tabla los referencia con
+-- claves foráneas.
+
+ALTER TABLE transacciones RENAME TO transacciones_sin_particionar;
+DROP INDEX IF EXISTS ix_transacciones_origen_fecha;
+DROP INDEX IF EXISTS ix_transacciones_destino_fecha;
+DROP INDEX IF EXISTS ix_transacciones_fecha;
+DROP INDEX IF EXISTS ix_transacciones_estado_fecha;
+
+CREATE TABLE transacciones (
+    id                BIGINT       NOT NULL,
+    tipo_transaccion  VARCHAR(255),
+    estado            VARCHAR(255),
+    fecha_hora        TIMESTAMP(6) NOT NULL,
+    monto             NUMERIC(38, 2),
+    cuenta_origen_id  BIGINT REFERENCES cuentas (id),
+    cuenta_destino_id BIGINT REFERENCES cuentas (id),
+    descripcion       VARCHAR(255),
+    PRIMARY KEY (id, fecha_hora)
+) PARTITION BY RANGE (fecha_hora);
+
+-- Red de seguridad para filas fuera de las particiones creadas; normalmente queda vacía.
+CREATE TABLE transacciones_default PARTITION OF transacciones DEFAULT;
+
+-- Crea la partición del mes de "mes" si no existe (transacciones_pAAAAMM). La invoca el
+-- mantenimiento programado de ArchivoTransaccionesService para los meses siguientes.
+CREATE OR REPLACE FUNCTION crear_particion_transacciones(mes DATE) RETURNS TEXT AS $$
+DECLARE
+    desde  DATE := date_trunc('month', mes)::DATE;
+    nombre TEXT := 'transacciones_p' || to_char(mes, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transacciones FOR VALUES FROM (%L) TO (%L)',
+                   nombre, desde, (desde + INTERVAL '1 month')::DATE);
+    RETURN nombre;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT crear_particion_transacciones(mes::DATE)
+FROM generate_series(
+        date_trunc('month', COALESCE((SELECT min(fecha_hora) FROM transacciones_sin_particionar), now())),
+        date_trunc('month', now()) + INTERVAL '2 months',
+        INTERVAL '1 month') AS mes;
+
+-- Las filas históricas sin fecha van a la partición por defecto con la fecha mínima.
+INSERT INTO transacciones (id, tipo_transaccion, estado, fecha_hora, monto, cuenta_origen_id, cuenta_destino_id, descripcion)
+SELECT id, tipo_transaccion, estado, COALESCE(fecha_hora, TIMESTAMP '1970-01-01'), monto,
+       cuenta_origen_id, cuenta_destino_id, descripcion
+FROM transacciones_sin_particionar;
+
+DROP TABLE transacciones_sin_particionar;
+
+-- Los índices del padre se crean en cada partición, actual y futura.
+CREATE INDEX ix_transacciones_origen_fecha ON transacciones (cuenta_origen_id, fecha_hora, id);
+CREATE INDEX ix_transacciones_destino_fecha ON transacciones (cuenta_destino_id, fecha_hora, id);
+CREATE INDEX ix_transacciones_fecha ON transacciones (fecha_hora, id);
+CREATE INDEX ix_transacciones_estado_fecha ON transacciones (estado, fecha_hora, id);
+
+-- Meses archivados (ArchivoTransaccionesService) y cuentas con movimientos en cada uno.
+CREATE TABLE IF NOT EXISTS archivos_transacciones (
+    mes          DATE         NOT NULL PRIMARY KEY,
+    ruta         VARCHAR(500) NOT NULL,
+    cantidad     BIGINT       NOT NULL,
+    archivado_en TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS archivos_transacciones_cuentas (
+    cuenta_id BIGINT NOT NULL,
+    mes       DATE   NOT NULL,
+    PRIMARY KEY (cuenta_id, mes)
+);
+
+ANALYZE transacciones;
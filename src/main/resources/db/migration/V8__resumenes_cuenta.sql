@@ -0,0 +1,33 @@
+-- Totales diarios y mensuales por cuenta y tipo de transacción. Los mantiene ResumenCuentaService
+-- en la misma transacción que cada operación; aquí se cargan los de las transacciones existentes.
+
+CREATE SEQUENCE IF NOT EXISTS resumenes_cuenta_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS resumenes_cuenta (
+    id               BIGINT         NOT NULL PRIMARY KEY,
+    cuenta_id        BIGINT         NOT NULL REFERENCES cuentas (id),
+    periodo          VARCHAR(10)    NOT NULL,
+    fecha            DATE           NOT NULL,
+    tipo_transaccion VARCHAR(20)    NOT NULL,
+    tipo_asiento     VARCHAR(10)    NOT NULL,
+    cantidad         BIGINT         NOT NULL,
+    monto            NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT ux_resumenes_cuenta_periodo UNIQUE (cuenta_id, periodo, fecha, tipo_transaccion, tipo_asiento)
+);
+
+-- Los meses ya archivados no están en transacciones y quedan sin resumen.
+INSERT INTO resumenes_cuenta (id, cuenta_id, periodo, fecha, tipo_transaccion, tipo_asiento, cantidad, monto)
+SELECT nextval('resumenes_cuenta_seq'), m.cuenta_id, p.periodo,
+       CASE p.periodo WHEN 'DIA' THEN m.fecha_hora::DATE ELSE date_trunc('month', m.fecha_hora)::DATE END,
+       m.tipo_transaccion, m.tipo_asiento, COUNT(*), SUM(m.monto)
+FROM (SELECT cuenta_origen_id AS cuenta_id, 'DEBITO' AS tipo_asiento, tipo_transaccion, fecha_hora, monto
+      FROM transacciones
+      WHERE estado = 'COMPLETADA' AND cuenta_origen_id IS NOT NULL
+      UNION ALL
+      SELECT cuenta_destino_id, 'CREDITO', tipo_transaccion, fecha_hora, monto
+      FROM transacciones
+      WHERE estado = 'COMPLETADA' AND cuenta_destino_id IS NOT NULL) m
+CROSS JOIN (VALUES ('DIA'), ('MES')) AS p (periodo)
+GROUP BY m.cuenta_id, p.periodo,
+         CASE p.periodo WHEN 'DIA' THEN m.fecha_hora::DATE ELSE date_trunc('month', m.fecha_hora)::DATE END,
+         m.tipo_transaccion, m.tipo_asiento;
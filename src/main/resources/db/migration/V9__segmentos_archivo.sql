@@ -0,0 +1,8 @@
+-- Cada archivo mensual pasa a ser una sucesión de miembros gzip, uno por cuenta con sus
+-- transacciones del mes en orden cronológico. El índice por (cuenta, mes) guarda dónde empieza el
+-- segmento de la cuenta y cuántas filas tiene, así que leer una cuenta no descomprime el mes entero.
+-- Las columnas son obligatorias: si ya hubiera meses archivados con el formato anterior, esta
+-- migración falla en lugar de dejarlos sin índice.
+
+ALTER TABLE archivos_transacciones_cuentas ADD COLUMN desplazamiento BIGINT NOT NULL;
+ALTER TABLE archivos_transacciones_cuentas ADD COLUMN cantidad BIGINT NOT NULL;
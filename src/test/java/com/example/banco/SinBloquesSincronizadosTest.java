@@ -0,0 +1,62 @@
+package com.example.banco;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// En Java 21 un hilo virtual que se bloquea dentro de un bloque synchronized queda fijado a su
+// hilo portador. Se revisa el bytecode de la aplicación para que no aparezcan métodos synchronized
+// ni bloques synchronized (MONITORENTER); para exclusión mutua se usa ReentrantLock.
+class SinBloquesSincronizadosTest {
+
+    @Test
+    @DisplayName("El código de la aplicación no usa synchronized")
+    void aplicacion_sinSynchronized() throws Exception {
+        Path clases = Path.of(BancoApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> encontrados = new ArrayList<>();
+
+        try (Stream<Path> archivos = Files.walk(clases)) {
+            for (Path archivo : archivos.filter(p -> p.toString().endsWith(".class")).toList()) {
+                inspeccionar(archivo, encontrados);
+            }
+        }
+
+        assertTrue(encontrados.isEmpty(), "Secciones synchronized en el código de la aplicación: " + encontrados);
+    }
+
+    private void inspeccionar(Path archivo, List<String> encontrados) throws IOException {
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            ClassReader lector = new ClassReader(entrada);
+            String clase = lector.getClassName();
+            lector.accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public MethodVisitor visitMethod(int acceso, String nombre, String descriptor, String firma, String[] excepciones) {
+                    if ((acceso & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                        encontrados.add(clase + "." + nombre + " (método synchronized)");
+                    }
+                    return new MethodVisitor(Opcodes.ASM9) {
+                        @Override
+                        public void visitInsn(int opcode) {
+                            if (opcode == Opcodes.MONITORENTER) {
+                                encontrados.add(clase + "." + nombre + " (bloque synchronized)");
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+    }
+}
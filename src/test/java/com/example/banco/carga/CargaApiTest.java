@@ -0,0 +1,270 @@
+package com.example.banco.carga;
+
+import com.example.banco.dto.request.ClienteRequestDTO;
+import com.example.banco.dto.request.CuentaRequestDTO;
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.ClienteResponseDTO;
+import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.model.enums.TipoCuenta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de punta a punta: levanta la aplicación en un puerto real contra H2 en modo
+ * PostgreSQL, crea clientes y cuentas por la API y luego envía una mezcla de depósitos, retiros,
+ * transferencias y consultas a una tasa fija. Se ejecuta solo con {@code mvn -P carga test}.
+ * <p>
+ * Parámetros (propiedades de sistema): carga.clientes, carga.cuentas-por-cliente,
+ * carga.tasa (solicitudes/s), carga.duracion-segundos, carga.calentamiento-segundos y carga.mezcla
+ * (por ejemplo "deposito=20,retiro=10,transferencia=30,consulta=40").
+ * <p>
+ * Las solicitudes se programan a intervalos fijos y la latencia se mide desde el instante en que
+ * debía salir cada una, así una demora del servidor no reduce la carga ni oculta la espera.
+ */
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:banco_carga;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+class CargaApiTest {
+
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 20);
+    private static final int CUENTAS_POR_CLIENTE = Integer.getInteger("carga.cuentas-por-cliente", 2);
+    private static final int TASA = Integer.getInteger("carga.tasa", 200);
+    private static final int DURACION_SEGUNDOS = Integer.getInteger("carga.duracion-segundos", 10);
+    private static final int CALENTAMIENTO_SEGUNDOS = Integer.getInteger("carga.calentamiento-segundos", 3);
+    private static final String MEZCLA = System.getProperty("carga.mezcla", "deposito=20,retiro=10,transferencia=30,consulta=40");
+    private static final BigDecimal DEPOSITO_INICIAL = new BigDecimal("100000");
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("Carga mixta sobre la API: latencias por endpoint y saldo total conservado")
+    void cargaMixta() {
+        List<Long> cuentas = sembrarCuentas();
+        Operacion[] operaciones = parsearMezcla();
+        LongAdder depositado = new LongAdder();
+        LongAdder retirado = new LongAdder();
+
+        // El calentamiento (JIT, pool de conexiones, cache) mueve dinero pero no se reporta
+        ejecutarFase(cuentas, operaciones, CALENTAMIENTO_SEGUNDOS, depositado, retirado);
+        Map<Operacion, Metricas> metricas = ejecutarFase(cuentas, operaciones, DURACION_SEGUNDOS, depositado, retirado);
+
+        BigDecimal esperado = DEPOSITO_INICIAL.multiply(BigDecimal.valueOf(cuentas.size()))
+                .add(BigDecimal.valueOf(depositado.sum()))
+                .subtract(BigDecimal.valueOf(retirado.sum()));
+        BigDecimal saldoTotal = listarCuentas().stream()
+                .filter(cuenta -> cuentas.contains(cuenta.id()))
+                .map(CuentaResponseDTO::saldo)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, esperado.compareTo(saldoTotal),
+                "El saldo total no coincide: esperado " + esperado + ", actual " + saldoTotal);
+        assertEquals(TASA * DURACION_SEGUNDOS, metricas.values().stream().mapToInt(Metricas::total).sum());
+    }
+
+    private Map<Operacion, Metricas> ejecutarFase(List<Long> cuentas, Operacion[] operaciones, int duracionSegundos,
+                                                  LongAdder depositado, LongAdder retirado) {
+        Map<Operacion, Metricas> metricas = new LinkedHashMap<>();
+        Arrays.stream(Operacion.values()).forEach(op -> metricas.put(op, new Metricas()));
+
+        int total = TASA * duracionSegundos;
+        long intervaloNanos = TimeUnit.SECONDS.toNanos(1) / TASA;
+        long inicio = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long programada = inicio + i * intervaloNanos;
+                long espera = programada - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+
+                Operacion operacion = operaciones[ThreadLocalRandom.current().nextInt(operaciones.length)];
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long monto = 10 + random.nextInt(491);
+                    int origen = random.nextInt(cuentas.size());
+                    int destino = (origen + 1 + random.nextInt(cuentas.size() - 1)) % cuentas.size();
+
+                    int status = switch (operacion) {
+                        case DEPOSITO -> post("/banco/transacciones/deposito",
+                                new DepositoRequestDTO(cuentas.get(origen), BigDecimal.valueOf(monto)));
+                        case RETIRO -> post("/banco/transacciones/retiro",
+                                new RetiroRequestDTO(cuentas.get(origen), BigDecimal.valueOf(monto)));
+                        case TRANSFERENCIA -> post("/banco/transacciones/transferencia",
+                                new TransferenciaRequestDTO(cuentas.get(origen), cuentas.get(destino), BigDecimal.valueOf(monto)));
+                        case CONSULTA -> get("/banco/cuentas/id/" + cuentas.get(origen));
+                    };
+
+                    if (status == 201 && operacion == Operacion.DEPOSITO) {
+                        depositado.add(monto);
+                    } else if (status == 201 && operacion == Operacion.RETIRO) {
+                        retirado.add(monto);
+                    }
+                    metricas.get(operacion).registrar(status, System.nanoTime() - programada);
+                });
+            }
+        }
+
+        if (duracionSegundos == DURACION_SEGUNDOS) {
+            reportar(metricas, total, (System.nanoTime() - inicio) / 1_000_000_000.0, cuentas.size());
+        }
+        return metricas;
+    }
+
+    private List<Long> sembrarCuentas() {
+        List<Long> cuentas = new ArrayList<>();
+        int baseDni = 10_000_000 + ThreadLocalRandom.current().nextInt(80_000_000);
+        for (int c = 0; c < CLIENTES; c++) {
+            ClienteRequestDTO clienteDto = new ClienteRequestDTO("Cliente carga " + c, String.valueOf(baseDni + c),
+                    "carga" + c + "@example.com", "1100000000");
+            ClienteResponseDTO cliente = postYLeer("/banco/clientes", clienteDto, ClienteResponseDTO.class);
+
+            for (int k = 0; k < CUENTAS_POR_CLIENTE; k++) {
+                CuentaRequestDTO cuentaDto = new CuentaRequestDTO(cliente.id(), TipoCuenta.CORRIENTE, DEPOSITO_INICIAL);
+                cuentas.add(postYLeer("/banco/cuentas", cuentaDto, CuentaResponseDTO.class).id());
+            }
+        }
+        return cuentas;
+    }
+
+    private Operacion[] parsearMezcla() {
+        List<Operacion> operaciones = new ArrayList<>();
+        for (String parte : MEZCLA.split(",")) {
+            String[] peso = parte.trim().split("=");
+            Operacion operacion = Operacion.valueOf(peso[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(peso[1].trim()); i++) {
+                operaciones.add(operacion);
+            }
+        }
+        assertFalse(operaciones.isEmpty(), "La mezcla de operaciones está vacía");
+        return operaciones.toArray(Operacion[]::new);
+    }
+
+    private void reportar(Map<Operacion, Metricas> metricas, int total, double segundos, int cantidadCuentas) {
+        System.out.printf("%nCarga: %d solicitudes en %.1f s (%.0f req/s, objetivo %d req/s), %d cuentas%n",
+                total, segundos, total / segundos, TASA, cantidadCuentas);
+        System.out.printf("%-14s %8s %8s %8s %9s %9s %9s %9s%n", "endpoint", "ok", "4xx", "5xx", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        metricas.forEach((operacion, m) -> {
+            long[] latencias = m.latenciasOrdenadas();
+            System.out.printf("%-14s %8d %8d %8d %9.0f %9.1f %9.1f %9.1f%n", operacion.name().toLowerCase(),
+                    m.ok.get(), m.errores4xx.get(), m.errores5xx.get(), m.total() / segundos,
+                    percentil(latencias, 50), percentil(latencias, 95), percentil(latencias, 99));
+        });
+    }
+
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    private int post(String ruta, Object cuerpo) {
+        return enviar(solicitud(ruta).POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(cuerpo))).build())
+                .statusCode();
+    }
+
+    private int get(String ruta) {
+        return enviar(solicitud(ruta).GET().build()).statusCode();
+    }
+
+    private <T> T postYLeer(String ruta, Object cuerpo, Class<T> tipo) {
+        HttpResponse<byte[]> respuesta = enviar(solicitud(ruta)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(cuerpo))).build());
+        assertEquals(201, respuesta.statusCode(), () -> ruta + ": " + new String(respuesta.body()));
+        return jsonMapper.readValue(respuesta.body(), tipo);
+    }
+
+    private List<CuentaResponseDTO> listarCuentas() {
+        HttpResponse<byte[]> respuesta = enviar(solicitud("/banco/cuentas").GET().build());
+        return jsonMapper.readValue(respuesta.body(), new TypeReference<>() {
+        });
+    }
+
+    private HttpRequest.Builder solicitud(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpResponse<byte[]> enviar(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (Exception e) {
+            throw new IllegalStateException("Falló la solicitud " + request.uri(), e);
+        }
+    }
+
+    private enum Operacion {
+        DEPOSITO, RETIRO, TRANSFERENCIA, CONSULTA
+    }
+
+    private static class Metricas {
+        private final AtomicInteger ok = new AtomicInteger();
+        private final AtomicInteger errores4xx = new AtomicInteger();
+        private final AtomicInteger errores5xx = new AtomicInteger();
+        private final Queue<Long> latencias = new ConcurrentLinkedQueue<>();
+
+        void registrar(int status, long latenciaNanos) {
+            if (status >= 500) {
+                errores5xx.incrementAndGet();
+            } else if (status >= 400) {
+                errores4xx.incrementAndGet();
+            } else {
+                ok.incrementAndGet();
+            }
+            latencias.add(latenciaNanos);
+        }
+
+        int total() {
+            return ok.get() + errores4xx.get() + errores5xx.get();
+        }
+
+        long[] latenciasOrdenadas() {
+            return latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.banco.concurrencia;
+
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.exception.ConflictoConcurrenciaException;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.ModoConcurrencia;
+import com.example.banco.repository.AsientoRepository;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.TransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ConcurrenciaOptimistaTest {
+
+    private static final int HILOS = 8;
+    private static final int OPERACIONES_POR_HILO = 25;
+    private static final BigDecimal MONTO = new BigDecimal("10");
+
+    @Autowired
+    private TransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AsientoRepository asientoRepository;
+
+    private TransaccionService destino;
+
+    @BeforeEach
+    void setUp() {
+        destino = AopTestUtils.getTargetObject(transaccionService);
+        ReflectionTestUtils.setField(destino, "modoConcurrencia", ModoConcurrencia.OPTIMISTA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(destino, "modoConcurrencia", ModoConcurrencia.PESIMISTA);
+    }
+
+    @Test
+    @DisplayName("Retiros concurrentes en modo optimista no pierden actualizaciones ni dejan la cuenta en descubierto")
+    void retirosConcurrentes_sinPerdidasNiDescubierto() throws Exception {
+        // Alcanza para 150 de los 200 retiros: el resto se rechaza por saldo
+        Cuenta cuenta = crearCuenta(new BigDecimal("2000"));
+        AtomicInteger exitosos = new AtomicInteger();
+        AtomicInteger sinSaldo = new AtomicInteger();
+        AtomicInteger conflictos = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> resultados = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            resultados.add(executor.submit(() -> {
+                for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+                    try {
+                        transaccionService.retirar(new RetiroRequestDTO(cuenta.getId(), MONTO));
+                        exitosos.incrementAndGet();
+                    } catch (ValidacionException e) {
+                        sinSaldo.incrementAndGet();
+                    } catch (ConflictoConcurrenciaException e) {
+                        conflictos.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        for (Future<?> resultado : resultados) {
+            resultado.get();
+        }
+
+        Cuenta guardada = cuentaRepository.findById(cuenta.getId()).orElseThrow();
+        assertEquals(HILOS * OPERACIONES_POR_HILO, exitosos.get() + sinSaldo.get() + conflictos.get());
+        // Un rechazo por saldo solo ocurre con los 150 retiros ya hechos; sin rechazos, todo lo que no
+        // agotó los reintentos tuvo éxito
+        assertEquals(Math.min(150, HILOS * OPERACIONES_POR_HILO - conflictos.get()), exitosos.get(),
+                () -> exitosos.get() + " exitosos, " + sinSaldo.get() + " sin saldo, " + conflictos.get() + " conflictos agotados");
+        assertEquals(0, new BigDecimal("2000").subtract(MONTO.multiply(BigDecimal.valueOf(exitosos.get())))
+                .compareTo(guardada.getSaldo()), "Actualización perdida en la cuenta");
+        assertTrue(guardada.getSaldo().compareTo(guardada.getSaldoMinimo()) >= 0);
+        assertEquals(exitosos.get(), guardada.getUltimoAsiento());
+        assertEquals(0, guardada.getSaldo().compareTo(asientoRepository.findSaldoAl(
+                cuenta.getId(), LocalDateTime.now(), 0, Limit.of(1)).getFirst()));
+    }
+
+    @Test
+    @DisplayName("En modo optimista cada escritura incrementa la versión de la cuenta")
+    void transferencia_incrementaVersion() {
+        Cuenta origen = crearCuenta(new BigDecimal("5000"));
+        Cuenta destinoCuenta = crearCuenta(new BigDecimal("5000"));
+        long versionOrigen = origen.getVersion();
+        long versionDestino = destinoCuenta.getVersion();
+
+        transaccionService.transferir(new TransferenciaRequestDTO(origen.getId(), destinoCuenta.getId(), MONTO));
+
+        assertTrue(cuentaRepository.findById(origen.getId()).orElseThrow().getVersion() > versionOrigen);
+        assertTrue(cuentaRepository.findById(destinoCuenta.getId()).orElseThrow().getVersion() > versionDestino);
+    }
+
+    private Cuenta crearCuenta(BigDecimal saldo) {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente optimista"));
+        return cuentaRepository.save(DatosPrueba.cuentaOperable(cliente, saldo));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.banco.concurrencia;
+
+import com.example.banco.exception.ConflictoConcurrenciaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReintentosConcurrenciaAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private Operacion operacion;
+    private Operacion proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ReintentosConcurrenciaAspect aspect = new ReintentosConcurrenciaAspect(registry);
+        ReflectionTestUtils.setField(aspect, "maxIntentos", 3);
+        ReflectionTestUtils.setField(aspect, "esperaInicialMs", 1L);
+        ReflectionTestUtils.setField(aspect, "esperaMaximaMs", 5L);
+
+        operacion = new Operacion();
+        AspectJProxyFactory factory = new AspectJProxyFactory(operacion);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Un conflicto pasajero se reintenta y la operación termina bien")
+    void conflictoPasajero_seReintenta() {
+        operacion.fallosRestantes.set(2);
+
+        assertEquals("ok", proxy.ejecutar());
+        assertEquals(3, operacion.intentos.get());
+        assertEquals(2.0, registry.counter("banco.concurrencia.reintentos",
+                "metodo", "Operacion.ejecutar").count());
+    }
+
+    @Test
+    @DisplayName("Agotados los intentos se lanza ConflictoConcurrenciaException")
+    void conflictoPersistente_agotaLosIntentos() {
+        operacion.fallosRestantes.set(Integer.MAX_VALUE);
+
+        ConflictoConcurrenciaException ex = assertThrows(ConflictoConcurrenciaException.class, proxy::ejecutar);
+        assertInstanceOf(OptimisticLockingFailureException.class, ex.getCause());
+        assertEquals(3, operacion.intentos.get());
+        assertEquals(1.0, registry.counter("banco.concurrencia.agotados",
+                "metodo", "Operacion.ejecutar").count());
+    }
+
+    @Test
+    @DisplayName("Si se interrumpe la espera sale el conflicto original sin más intentos")
+    void esperaInterrumpida_lanzaElConflictoOriginal() {
+        operacion.fallosRestantes.set(Integer.MAX_VALUE);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(OptimisticLockingFailureException.class, proxy::ejecutar);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(1, operacion.intentos.get());
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción abierta no se reintenta")
+    void transaccionAbierta_noReintenta() {
+        operacion.fallosRestantes.set(1);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, proxy::ejecutar);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(1, operacion.intentos.get());
+    }
+
+    static class Operacion {
+
+        final AtomicInteger fallosRestantes = new AtomicInteger();
+        final AtomicInteger intentos = new AtomicInteger();
+
+        @ReintentarConflictos
+        public String ejecutar() {
+            intentos.incrementAndGet();
+            if (fallosRestantes.getAndDecrement() > 0) {
+                throw new OptimisticLockingFailureException("versión desactualizada");
+            }
+            return "ok";
+        }
+    }
+}
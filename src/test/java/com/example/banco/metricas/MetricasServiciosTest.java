@@ -0,0 +1,108 @@
+package com.example.banco.metricas;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MetricasServiciosTest {
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Cuenta cuenta;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente metricas"));
+        cuenta = cuentaRepository.saveAndFlush(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Cada método de servicio registra su latencia con histograma de percentiles")
+    void servicio_registraTimerConHistograma() {
+        long antes = contar(timerServicio("depositar", "ok"));
+
+        transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), new BigDecimal("10.00")));
+        cuentaService.buscarPorId(cuenta.getId());
+
+        Timer depositar = registry.get(MetricasServiciosAspect.TIMER_SERVICIO)
+                .tags("metodo", "depositar", "resultado", "ok").timer();
+        assertEquals(antes + 1, depositar.count());
+        assertTrue(depositar.takeSnapshot().histogramCounts().length > 0);
+        assertNotNull(registry.find(MetricasServiciosAspect.TIMER_SERVICIO)
+                .tags("metodo", "buscarPorId", "resultado", "ok").timer());
+    }
+
+    @Test
+    @DisplayName("Un rechazo de negocio incrementa el contador de su motivo")
+    void rechazo_cuentaPorMotivo() {
+        double antes = contarRechazos("SALDO_INSUFICIENTE");
+
+        assertThrows(ValidacionException.class,
+                () -> transaccionService.retirar(new RetiroRequestDTO(cuenta.getId(), new BigDecimal("1000.00"))));
+
+        assertEquals(antes + 1, contarRechazos("SALDO_INSUFICIENTE"));
+        assertTrue(registry.get(MetricasServiciosAspect.TIMER_SERVICIO)
+                .tags("metodo", "retirar", "resultado", "rechazo").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Se publican el timer de repositorios y los gauges del pool de conexiones")
+    void repositoriosYPool_tienenMetricas() {
+        cuentaService.buscarPorNroCuenta(cuenta.getNroCuenta());
+
+        assertNotNull(registry.find("spring.data.repository.invocations").timer());
+        assertNotNull(registry.find("hikaricp.connections.active").gauge());
+        assertNotNull(registry.find("hikaricp.connections.max").gauge());
+    }
+
+    private Timer timerServicio(String metodo, String resultado) {
+        return registry.find(MetricasServiciosAspect.TIMER_SERVICIO)
+                .tags("metodo", metodo, "resultado", resultado).timer();
+    }
+
+    private long contar(Timer timer) {
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double contarRechazos(String motivo) {
+        Counter contador = registry.find(MetricasServiciosAspect.CONTADOR_RECHAZOS).tag("motivo", motivo).counter();
+        return contador == null ? 0 : contador.count();
+    }
+}
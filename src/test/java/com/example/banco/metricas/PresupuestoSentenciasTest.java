@@ -0,0 +1,115 @@
+package com.example.banco.metricas;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.IClienteService;
+import com.example.banco.support.DatosPrueba;
+import com.example.banco.support.PresupuestoSentencias;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class PresupuestoSentenciasTest {
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    @Autowired
+    private IClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final ListAppender<ILoggingEvent> avisos = new ListAppender<>();
+    private Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(DatosPrueba.cliente("Cliente presupuesto"));
+        for (int i = 0; i < 3; i++) {
+            cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.AHORRO, BigDecimal.ZERO));
+        }
+
+        avisos.start();
+        ((Logger) LoggerFactory.getLogger(PresupuestoSentenciasFilter.class)).addAppender(avisos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(PresupuestoSentenciasFilter.class)).detachAppender(avisos);
+        PresupuestoSentencias.detener();
+    }
+
+    @Test
+    @DisplayName("assertQueryCount cuenta las sentencias de un servicio y de un controlador")
+    void assertQueryCount_servicioYControlador() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(contexto).build();
+
+        PresupuestoSentencias.iniciar();
+        clienteService.buscarPorDni(cliente.getDni());
+        PresupuestoSentencias.assertQueryCount(1);
+
+        mockMvc.perform(get("/banco/clientes/id/{id}", cliente.getId())).andExpect(status().isOk());
+        PresupuestoSentencias.assertQueryCount(1);
+    }
+
+    @Test
+    @DisplayName("Una solicitud que supera el presupuesto deja un aviso con el endpoint")
+    void filtro_avisaAlSuperarPresupuesto() throws Exception {
+        PresupuestoSentenciasFilter filtro = new PresupuestoSentenciasFilter(registry);
+        ReflectionTestUtils.setField(filtro, "habilitado", true);
+        ReflectionTestUtils.setField(filtro, "presupuesto", 1);
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(contexto).addFilters(filtro).build();
+
+        mockMvc.perform(get("/banco/clientes/id/{id}", cliente.getId())).andExpect(status().isOk());
+        assertTrue(avisos.list.isEmpty());
+
+        mockMvc.perform(get("/banco/clientes")).andExpect(status().isOk());
+        mockMvc.perform(get("/banco/clientes/dni/{dni}", cliente.getDni())).andExpect(status().isOk());
+        mockMvc.perform(get("/banco/clientes/id/{id}", cliente.getId())).andExpect(status().isOk());
+        assertTrue(avisos.list.isEmpty());
+
+        DistributionSummary porId = registry.get(PresupuestoSentenciasFilter.RESUMEN_SENTENCIAS)
+                .tag("endpoint", "GET /banco/clientes/id/{id}").summary();
+        assertTrue(porId.count() >= 2);
+        assertEquals(1.0, porId.max());
+
+        ReflectionTestUtils.setField(filtro, "presupuesto", 0);
+        mockMvc.perform(get("/banco/clientes/id/{id}", cliente.getId())).andExpect(status().isOk());
+
+        assertEquals(1, avisos.list.size());
+        ILoggingEvent aviso = avisos.list.getFirst();
+        assertEquals(Level.WARN, aviso.getLevel());
+        assertTrue(aviso.getFormattedMessage().startsWith("GET /banco/clientes/id/{id} ejecutó 1 sentencias SQL"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.banco.migraciones;
+
+import com.example.banco.dto.request.CursorTransaccion;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.service.ArchivoTransaccionesService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Las migraciones sobre un PostgreSQL real (binarios de embedded-postgres, sin Docker): se aplica
+// hasta V6, se cargan transacciones de varios meses y el contexto aplica el resto con Flyway y
+// valida las entidades contra el esquema resultante.
+@SpringBootTest
+@DirtiesContext
+class MigracionesPostgresTest {
+
+    private static final YearMonth VIEJO = YearMonth.now().minusMonths(15);
+    private static final YearMonth SIGUIENTE = VIEJO.plusMonths(1);
+    private static final YearMonth ACTUAL = YearMonth.now();
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchivoTransaccionesService archivoTransaccionesService;
+
+    @TempDir
+    private Path directorio;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target("6")
+                .load()
+                .migrate();
+        cargarDatos(new JdbcTemplate(dataSource));
+
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @AfterAll
+    static void detener() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("V7 particiona transacciones por mes sin perder filas y V8 carga los resúmenes")
+    void migrar_particionaYCargaResumenes() {
+        assertEquals("p", jdbcTemplate.queryForObject(
+                "SELECT relkind::TEXT FROM pg_class WHERE relname = 'transacciones'", String.class));
+        assertEquals(3, contar("transacciones_p" + VIEJO.format(FORMATO_MES)));
+        assertEquals(2, contar("transacciones_p" + ACTUAL.format(FORMATO_MES)));
+        assertEquals(0, contar("transacciones_default"));
+        assertTrue(existe("transacciones_p" + ACTUAL.plusMonths(2).format(FORMATO_MES)));
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT cantidad FROM resumenes_cuenta "
+                + "WHERE cuenta_id = 1 AND periodo = 'MES' AND fecha = ? AND tipo_asiento = 'DEBITO'",
+                Long.class, VIEJO.atDay(1)));
+    }
+
+    @Test
+    @DisplayName("Archivar un mes desprende y borra su partición, y el historial se lee del archivo")
+    void archivarMes_desprendeLaParticion() {
+        prepararArchivo();
+
+        assertEquals(2, archivoTransaccionesService.archivarMes(SIGUIENTE));
+        assertFalse(existe("transacciones_p" + SIGUIENTE.format(FORMATO_MES)));
+
+        List<TransaccionResponseDTO> archivadas = archivoTransaccionesService.buscarPorCuenta(
+                1L, new CursorTransaccion(ACTUAL.atDay(1).atStartOfDay(), 0L), 1);
+        assertEquals(List.of(1_000_004L), archivadas.stream().map(TransaccionResponseDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Si otra instancia tiene el advisory lock del mantenimiento, ningún mes se archiva ni se cuenta")
+    void archivarMes_conBloqueoDeOtraInstancia() throws Exception {
+        prepararArchivo();
+
+        try (Connection otraInstancia = postgres.getPostgresDatabase().getConnection();
+             Statement sentencia = otraInstancia.createStatement()) {
+            otraInstancia.setAutoCommit(false);
+            sentencia.execute("SELECT pg_advisory_xact_lock(7220230001)");
+
+            assertEquals(0, archivoTransaccionesService.archivarMes(VIEJO));
+            // Ningún mes se archivó, así que ninguno cuenta
+            assertEquals(0, archivoTransaccionesService.archivar());
+            otraInstancia.rollback();
+        }
+        assertTrue(existe("transacciones_p" + VIEJO.format(FORMATO_MES)));
+        assertEquals(3, contar("transacciones_p" + VIEJO.format(FORMATO_MES)));
+    }
+
+    @Test
+    @DisplayName("El mantenimiento crea las particiones de los meses siguientes")
+    void crearParticiones_mesesAdelantados() {
+        prepararArchivo();
+        ReflectionTestUtils.setField(archivoTransaccionesService, "mesesAdelantados", 4);
+
+        archivoTransaccionesService.crearParticiones();
+
+        assertTrue(existe("transacciones_p" + ACTUAL.plusMonths(4).format(FORMATO_MES)));
+    }
+
+    private static void cargarDatos(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO clientes (id, nombre, dni, estado) VALUES (1, 'Cliente migración', '00000001', 'ACTIVO')");
+        for (long id = 1; id <= 2; id++) {
+            jdbc.update("INSERT INTO cuentas (id, nro_cuenta, estado_cuenta, tipo_cuenta, cliente_id, saldo) "
+                    + "VALUES (?, ?, 'ACTIVA', 'CORRIENTE', 1, 1000)", id, "MIG-" + id);
+        }
+        LocalDateTime[] fechas = {
+                VIEJO.atDay(3).atTime(10, 0), VIEJO.atDay(10).atTime(10, 0), VIEJO.atEndOfMonth().atTime(23, 59),
+                SIGUIENTE.atDay(1).atTime(0, 0), SIGUIENTE.atDay(20).atTime(8, 30),
+                ACTUAL.atDay(1).atTime(9, 0), ACTUAL.atDay(1).atTime(9, 5)};
+        for (int i = 0; i < fechas.length; i++) {
+            jdbc.update("INSERT INTO transacciones (id, tipo_transaccion, estado, fecha_hora, monto, cuenta_origen_id, "
+                    + "cuenta_destino_id) VALUES (?, 'TRANSFERENCIA', 'COMPLETADA', ?, 10, 1, 2)", 1_000_000L + i, fechas[i]);
+        }
+    }
+
+    private void prepararArchivo() {
+        ReflectionTestUtils.setField(archivoTransaccionesService, "particionado", true);
+        ReflectionTestUtils.setField(archivoTransaccionesService, "directorio", directorio.toString());
+    }
+
+    private long contar(String tabla) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + tabla, Long.class);
+    }
+
+    private boolean existe(String tabla) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, tabla);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.banco.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Dos bases H2 en memoria hacen de primario y réplica; cada una responde con su nombre.
+class RuteoDataSourceTest {
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+    private MonitorRetrasoReplica monitor;
+    private SimpleMeterRegistry registry;
+    private DataSourceTransactionManager transactionManager;
+    private Lecturas lecturas;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSourcePrimario = base("ruteo_primario");
+        DataSource dataSourceReplica = base("ruteo_replica");
+        primario = new JdbcTemplate(dataSourcePrimario);
+        replica = new JdbcTemplate(dataSourceReplica);
+        primario.update("INSERT INTO origen VALUES ('primario')");
+        replica.update("INSERT INTO origen VALUES ('replica')");
+
+        registry = new SimpleMeterRegistry();
+        monitor = new MonitorRetrasoReplica(dataSourceReplica, "SELECT ms FROM retraso", 1000, registry);
+        RuteoDataSource ruteo = new RuteoDataSource(dataSourcePrimario, dataSourceReplica, monitor, registry);
+        ruteo.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(ruteo);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Lecturas(new JdbcTemplate(dataSource)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LecturaReplicaAspect());
+        factory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        lecturas = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Una lectura marcada con @LecturaReplica va a la réplica y una escritura al primario")
+    void lecturaReplica_vaALaReplica() {
+        assertEquals("replica", lecturas.listar());
+        assertEquals("primario", lecturas.escribir());
+        assertEquals("primario", lecturas.sinTransaccion());
+        assertEquals(1.0, registry.counter("banco.replica.conexiones", "destino", "replica").count());
+    }
+
+    @Test
+    @DisplayName("Una transacción readOnly sin @LecturaReplica, como las de Spring Data, lee del primario")
+    void readOnlySinMarca_leeDelPrimario() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        assertEquals("primario", template.execute(estado -> lecturas.sinTransaccion()));
+    }
+
+    @Test
+    @DisplayName("ContextoRuteo.enPrimario fija la lectura en el primario")
+    void enPrimario_leeDelPrimario() {
+        assertEquals("primario", ContextoRuteo.enPrimario(lecturas::listar));
+        assertEquals("replica", lecturas.listar());
+    }
+
+    @Test
+    @DisplayName("ContextoRuteo.propagar lleva el ruteo del llamador al hilo que ejecuta la lectura")
+    void propagar_llevaElRuteoAOtroHilo() {
+        String origen = ContextoRuteo.enPrimario(() ->
+                CompletableFuture.supplyAsync(ContextoRuteo.propagar(lecturas::listar)).join());
+
+        assertEquals("primario", origen);
+    }
+
+    @Test
+    @DisplayName("Con retraso por encima del máximo se lee del primario hasta que la réplica se pone al día")
+    void retrasoExcesivo_vuelveAlPrimario() {
+        replica.update("UPDATE retraso SET ms = 5000");
+        monitor.medir();
+        assertEquals("primario", lecturas.listar());
+
+        replica.update("UPDATE retraso SET ms = 20");
+        monitor.medir();
+        assertEquals("replica", lecturas.listar());
+    }
+
+    @Test
+    @DisplayName("Si la réplica no responde a la medición se lee del primario")
+    void replicaSinRespuesta_leeDelPrimario() {
+        replica.execute("DROP TABLE retraso");
+        monitor.medir();
+
+        assertEquals("primario", lecturas.listar());
+    }
+
+    private DataSource base(String nombre) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbc.execute("CREATE TABLE retraso (ms BIGINT)");
+        jdbc.update("INSERT INTO retraso VALUES (0)");
+        return dataSource;
+    }
+
+    static class Lecturas {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        Lecturas(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @LecturaReplica
+        public String listar() {
+            return origen();
+        }
+
+        @Transactional
+        public String escribir() {
+            return origen();
+        }
+
+        public String sinTransaccion() {
+            return origen();
+        }
+
+        private String origen() {
+            return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.SegmentoArchivo;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ArchivoTransaccionesCuentaRepository;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ArchivoTransaccionesTest {
+
+    private static final YearMonth MARZO = YearMonth.of(2001, 3);
+    private static final YearMonth ABRIL = YearMonth.of(2001, 4);
+
+    @Autowired
+    private ArchivoTransaccionesService archivoTransaccionesService;
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @TempDir
+    private Path directorio;
+
+    @Autowired
+    private ArchivoTransaccionesCuentaRepository archivoCuentaRepository;
+
+    private Cuenta cuenta;
+    private Cuenta otra;
+    private List<Long> cronologico;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archivoTransaccionesService, "directorio", directorio.toString());
+        cuenta = crearCuenta();
+        otra = crearCuenta();
+
+        // Marzo: 3 de la cuenta y 1 de otra; abril: 2 de la cuenta; y 2 recientes en la tabla
+        cronologico = new ArrayList<>();
+        cronologico.add(guardar(cuenta, MARZO.atDay(3).atTime(10, 0)));
+        guardar(otra, MARZO.atDay(4).atTime(10, 0));
+        cronologico.add(guardar(cuenta, MARZO.atDay(20).atTime(9, 0)));
+        cronologico.add(guardar(cuenta, MARZO.atEndOfMonth().atTime(23, 59)));
+        cronologico.add(guardar(cuenta, ABRIL.atDay(1).atStartOfDay()));
+        cronologico.add(guardar(cuenta, ABRIL.atDay(15).atTime(12, 0)));
+        cronologico.add(transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), BigDecimal.TEN)).id());
+        cronologico.add(transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), BigDecimal.TEN)).id());
+    }
+
+    @Test
+    @DisplayName("Archivar un mes lo escribe comprimido y lo quita de la tabla")
+    void archivarMes_escribeYQuitaDeLaTabla() {
+        assertEquals(4, archivoTransaccionesService.archivarMes(MARZO));
+        assertEquals(2, archivoTransaccionesService.archivarMes(ABRIL));
+
+        assertTrue(Files.exists(directorio.resolve("transacciones_200103.ndjson.gz")));
+        assertTrue(Files.exists(directorio.resolve("transacciones_200104.ndjson.gz")));
+        cronologico.subList(0, 5).forEach(id -> assertTrue(transaccionRepository.findById(id).isEmpty()));
+
+        // Un segmento por cuenta en el archivo del mes, cada uno con solo sus filas
+        List<SegmentoArchivo> deLaCuenta = archivoCuentaRepository.findSegmentosByCuentaId(cuenta.getId());
+        assertEquals(List.of(ABRIL.atDay(1), MARZO.atDay(1)), deLaCuenta.stream().map(SegmentoArchivo::mes).toList());
+        assertEquals(List.of(2L, 3L), deLaCuenta.stream().map(SegmentoArchivo::cantidad).toList());
+        SegmentoArchivo deOtra = archivoCuentaRepository.findSegmentosByCuentaId(otra.getId()).getFirst();
+        assertEquals(1, deOtra.cantidad());
+        assertNotEquals(deLaCuenta.getLast().desplazamiento(), deOtra.desplazamiento());
+
+        // Un segundo pase no encuentra filas y no pisa el archivo
+        assertEquals(0, archivoTransaccionesService.archivarMes(MARZO));
+        assertTrue(Files.exists(directorio.resolve("transacciones_200103.ndjson.gz")));
+    }
+
+    @Test
+    @DisplayName("El listado por cuenta solo incluye lo archivado si se pide el historial, y pagina sin cortes entre tabla y archivo")
+    void listarPorCuenta_uneTablaYArchivo() {
+        archivoTransaccionesService.archivarMes(MARZO);
+        archivoTransaccionesService.archivarMes(ABRIL);
+
+        PaginaResponseDTO<TransaccionResponseDTO> recientes = transaccionService.listarTransaccionesPorCuenta(cuenta.getId(), null, 3, false);
+        assertEquals(cronologico.subList(5, 7).reversed(), recientes.contenido().stream().map(TransaccionResponseDTO::id).toList());
+        assertNull(recientes.siguiente());
+
+        List<Long> historial = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaResponseDTO<TransaccionResponseDTO> pagina = transaccionService.listarTransaccionesPorCuenta(cuenta.getId(), cursor, 3, true);
+            pagina.contenido().forEach(transaccion -> historial.add(transaccion.id()));
+            cursor = pagina.siguiente();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(cronologico.reversed(), historial);
+        assertEquals(3, paginas);
+    }
+
+    @Test
+    @DisplayName("La exportación antepone lo archivado al resto del historial")
+    void exportar_incluyeArchivado() {
+        archivoTransaccionesService.archivarMes(MARZO);
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        transaccionService.exportarTransaccionesPorCuenta(cuenta.getId(), salida);
+
+        List<Long> exportadas = salida.toString(StandardCharsets.UTF_8).lines()
+                .map(linea -> jsonMapper.readValue(linea, TransaccionResponseDTO.class).id())
+                .toList();
+        assertEquals(cronologico, exportadas);
+    }
+
+    private Long guardar(Cuenta destino, LocalDateTime fechaHora) {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setTipoTransaccion(TipoTransaccion.DEPOSITO);
+        transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+        transaccion.setCuentaDestino(destino);
+        transaccion.setMonto(BigDecimal.ONE);
+        transaccion.setFechaHora(fechaHora);
+        return transaccionRepository.save(transaccion).getId();
+    }
+
+    private Cuenta crearCuenta() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente archivo"));
+        return cuentaRepository.save(DatosPrueba.cuentaOperable(cliente, new BigDecimal("10000")));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import com.example.banco.support.PresupuestoSentencias;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BusquedaTransaccionesTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2002, 6, 1, 12, 0);
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Cuenta cuentaA;
+    private Cuenta cuentaB;
+    private List<Transaccion> transacciones;
+
+    @BeforeEach
+    void setUp() {
+        cuentaA = crearCuenta();
+        cuentaB = crearCuenta();
+
+        // 30 transacciones de A a B, una por día y con dos en el mismo instante, de tipos, estados y montos variados
+        transacciones = new ArrayList<>();
+        TipoTransaccion[] tipos = TipoTransaccion.values();
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime fechaHora = BASE.plusDays(i == 11 ? 10 : i);
+            EstadoTransaccion estado = i % 5 == 0 ? EstadoTransaccion.FALLIDA : EstadoTransaccion.COMPLETADA;
+            transacciones.add(guardar(tipos[i % tipos.length], estado, new BigDecimal(10 * (i + 1)), fechaHora));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        PresupuestoSentencias.detener();
+    }
+
+    @Test
+    @DisplayName("Recorrer la búsqueda por páginas devuelve exactamente las transacciones que cumplen los filtros")
+    void buscar_paginasCoincidenConLosFiltros() {
+        FiltroTransaccionesDTO filtro = new FiltroTransaccionesDTO(cuentaA.getId(), null, TipoTransaccion.TRANSFERENCIA,
+                EstadoTransaccion.COMPLETADA, BASE.plusDays(2), BASE.plusDays(25), new BigDecimal("40"), new BigDecimal("250"));
+
+        List<Long> esperadas = transacciones.stream()
+                .filter(t -> t.getTipoTransaccion() == TipoTransaccion.TRANSFERENCIA)
+                .filter(t -> t.getEstado() == EstadoTransaccion.COMPLETADA)
+                .filter(t -> !t.getFechaHora().isBefore(BASE.plusDays(2)) && t.getFechaHora().isBefore(BASE.plusDays(25)))
+                .filter(t -> t.getMonto().compareTo(new BigDecimal("40")) >= 0 && t.getMonto().compareTo(new BigDecimal("250")) <= 0)
+                .sorted((x, y) -> x.getFechaHora().equals(y.getFechaHora())
+                        ? y.getId().compareTo(x.getId()) : y.getFechaHora().compareTo(x.getFechaHora()))
+                .map(Transaccion::getId)
+                .toList();
+        assertFalse(esperadas.isEmpty());
+
+        List<Long> obtenidas = new ArrayList<>();
+        String cursor = null;
+        do {
+            // Cada página es una sola sentencia, con los números de cuenta ya resueltos
+            PresupuestoSentencias.iniciar();
+            PaginaResponseDTO<TransaccionResponseDTO> pagina = transaccionService.buscarTransacciones(filtro, cursor, 2);
+            PresupuestoSentencias.assertQueryCount(1);
+            PresupuestoSentencias.detener();
+            pagina.contenido().forEach(t -> assertEquals(cuentaB.getNroCuenta(), t.nroCuentaDestino()));
+            pagina.contenido().forEach(t -> obtenidas.add(t.id()));
+            cursor = pagina.siguiente();
+        } while (cursor != null);
+
+        assertEquals(esperadas, obtenidas);
+    }
+
+    @Test
+    @DisplayName("Cada filtro principal alcanza por sí solo")
+    void buscar_filtrosPrincipales() {
+        assertEquals(30, transaccionService.buscarTransacciones(
+                new FiltroTransaccionesDTO(null, cuentaB.getId(), null, null, null, null, null, null), null, 100).contenido().size());
+        assertEquals(6, transaccionService.buscarTransacciones(
+                new FiltroTransaccionesDTO(null, cuentaB.getId(), null, EstadoTransaccion.FALLIDA, null, null, null, null), null, 100).contenido().size());
+        assertEquals(7, transaccionService.buscarTransacciones(
+                new FiltroTransaccionesDTO(null, null, null, null, BASE, BASE.plusDays(7), null, null), null, 100).contenido().stream()
+                .filter(t -> t.idCuentaOrigen().equals(cuentaA.getId())).count());
+    }
+
+    @Test
+    @DisplayName("Estado con un filtro de monto selectivo necesita un rango de fechas acotado")
+    void buscar_estadoYMontoConRango() {
+        FiltroTransaccionesDTO sinRango = new FiltroTransaccionesDTO(null, null, null, EstadoTransaccion.FALLIDA,
+                null, null, new BigDecimal("110"), new BigDecimal("160"));
+        assertThrows(ValidacionException.class, () -> transaccionService.buscarTransacciones(sinRango, null, null));
+
+        FiltroTransaccionesDTO conRango = new FiltroTransaccionesDTO(null, null, null, EstadoTransaccion.FALLIDA,
+                BASE, BASE.plusDays(30), new BigDecimal("110"), new BigDecimal("160"));
+        List<Long> obtenidas = transaccionService.buscarTransacciones(conRango, null, 100).contenido().stream()
+                .map(TransaccionResponseDTO::id)
+                .filter(id -> transacciones.stream().anyMatch(t -> t.getId().equals(id)))
+                .toList();
+        assertEquals(List.of(transacciones.get(15).getId(), transacciones.get(10).getId()), obtenidas);
+    }
+
+    @Test
+    @DisplayName("Se rechazan las búsquedas que recorrerían la tabla completa y los rangos invertidos")
+    void buscar_rechazaBusquedasNoAcotadas() {
+        List<FiltroTransaccionesDTO> rechazadas = List.of(
+                new FiltroTransaccionesDTO(null, null, null, null, null, null, null, null),
+                new FiltroTransaccionesDTO(null, null, null, EstadoTransaccion.COMPLETADA, null, null, null, null),
+                new FiltroTransaccionesDTO(null, null, null, EstadoTransaccion.FALLIDA, BASE, BASE.plusDays(32), null, null),
+                new FiltroTransaccionesDTO(null, null, TipoTransaccion.DEPOSITO, null, null, null, BigDecimal.ONE, BigDecimal.TEN),
+                new FiltroTransaccionesDTO(null, null, null, null, BASE, null, null, null),
+                new FiltroTransaccionesDTO(null, null, null, null, BASE, BASE.plusDays(32), null, null),
+                new FiltroTransaccionesDTO(cuentaA.getId(), null, null, null, BASE.plusDays(1), BASE, null, null),
+                new FiltroTransaccionesDTO(cuentaA.getId(), null, null, null, null, null, BigDecimal.TEN, BigDecimal.ONE));
+        for (FiltroTransaccionesDTO filtro : rechazadas) {
+            assertThrows(ValidacionException.class, () -> transaccionService.buscarTransacciones(filtro, null, null), filtro::toString);
+        }
+    }
+
+    private Transaccion guardar(TipoTransaccion tipo, EstadoTransaccion estado, BigDecimal monto, LocalDateTime fechaHora) {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setTipoTransaccion(tipo);
+        transaccion.setEstado(estado);
+        transaccion.setCuentaOrigen(cuentaA);
+        transaccion.setCuentaDestino(cuentaB);
+        transaccion.setMonto(monto);
+        transaccion.setFechaHora(fechaHora);
+        return transaccionRepository.save(transaccion);
+    }
+
+    private Cuenta crearCuenta() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente búsqueda"));
+        return cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO));
+    }
+}
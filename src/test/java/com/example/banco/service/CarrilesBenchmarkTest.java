@@ -0,0 +1,131 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.exception.CuentaOcupadaException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Muchos clientes transfieren a pocas cuentas de comercio. Compara la ruta directa, donde todas las
+// transferencias a un comercio compiten por el bloqueo de su fila, con los carriles por cuenta.
+@Tag("carga")
+@SpringBootTest
+class CarrilesBenchmarkTest {
+
+    private static final int HILOS = 16;
+    private static final int TAREAS = 2000;
+    private static final int CLIENTES = 40;
+    private static final int COMERCIOS = 2;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000");
+    private static final BigDecimal MONTO = new BigDecimal("10");
+
+    @Autowired
+    private TransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    @DisplayName("Transferencias a cuentas calientes por bloqueo de fila y por carriles")
+    void bloqueoDeFilaVsCarriles(TestReporter reporte) throws Exception {
+        List<Cuenta> clientes = crearCuentas(CLIENTES);
+        List<Cuenta> comercios = crearCuentas(COMERCIOS);
+
+        TransaccionCarrilesService carriles = new TransaccionCarrilesService(transaccionService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(carriles, "cantidad", 16);
+        ReflectionTestUtils.setField(carriles, "capacidad", TAREAS);
+        ReflectionTestUtils.invokeMethod(carriles, "inicializar");
+
+        try {
+            // Calentamiento: JIT y pool de conexiones
+            ejecutar(transaccionService, clientes, comercios, TAREAS / 4);
+
+            Resultado directo = ejecutar(transaccionService, clientes, comercios, TAREAS);
+            Resultado porCarriles = ejecutar(carriles, clientes, comercios, TAREAS);
+
+            reporte.publishEntry(Map.of(
+                    "bloqueoDeFila", String.format("%.0f ops/s, %d rechazadas por timeout de bloqueo",
+                            directo.opsPorSegundo(), directo.ocupadas()),
+                    "carriles", String.format("%.0f ops/s, %d rechazadas",
+                            porCarriles.opsPorSegundo(), porCarriles.ocupadas())));
+        } finally {
+            ReflectionTestUtils.invokeMethod(carriles, "detener");
+        }
+
+        List<Cuenta> todas = new ArrayList<>(clientes);
+        todas.addAll(comercios);
+        BigDecimal total = todas.stream()
+                .map(cuenta -> cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, SALDO_INICIAL.multiply(BigDecimal.valueOf(todas.size())).compareTo(total));
+    }
+
+    private Resultado ejecutar(ITransaccionService servicio, List<Cuenta> clientes, List<Cuenta> comercios,
+                               int tareas) throws Exception {
+        AtomicInteger ocupadas = new AtomicInteger();
+        List<Future<?>> pendientes = new ArrayList<>();
+        long inicio = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(HILOS)) {
+            for (int i = 0; i < tareas; i++) {
+                pendientes.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Cuenta origen = clientes.get(random.nextInt(clientes.size()));
+                    Cuenta destino = comercios.get(random.nextInt(comercios.size()));
+                    try {
+                        servicio.transferir(new TransferenciaRequestDTO(origen.getId(), destino.getId(), MONTO));
+                    } catch (CuentaOcupadaException e) {
+                        ocupadas.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get(2, TimeUnit.MINUTES);
+            }
+        }
+
+        long duracionNanos = System.nanoTime() - inicio;
+        return new Resultado(tareas / (duracionNanos / 1_000_000_000.0), ocupadas.get());
+    }
+
+    private List<Cuenta> crearCuentas(int cantidad) {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente carriles"));
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Cuenta cuenta = DatosPrueba.cuentaOperable(cliente, SALDO_INICIAL);
+            cuenta.setLimiteRetiroDiario(new BigDecimal("10000000"));
+            cuentas.add(cuentaRepository.save(cuenta));
+        }
+        return cuentas;
+    }
+
+    private record Resultado(double opsPorSegundo, int ocupadas) {
+    }
+}
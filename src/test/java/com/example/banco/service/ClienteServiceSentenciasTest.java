@@ -0,0 +1,89 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.ClienteResponseDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.IClienteService;
+import com.example.banco.support.DatosPrueba;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ClienteServiceSentenciasTest {
+
+    @Autowired
+    private IClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Listar clientes ejecuta una sola sentencia sin importar cuántos clientes haya")
+    void listarClientes_cantidadDeSentenciasConstante() {
+        crearClientes(2, 3);
+        long sentenciasConPocosClientes = sentenciasAlListar();
+
+        crearClientes(20, 2);
+        long sentenciasConMasClientes = sentenciasAlListar();
+
+        assertEquals(1, sentenciasConPocosClientes);
+        assertEquals(sentenciasConPocosClientes, sentenciasConMasClientes);
+    }
+
+    @Test
+    @DisplayName("Buscar por id y por dni devuelve la cantidad de cuentas en una sola sentencia")
+    void buscarCliente_unaSentencia() {
+        Cliente cliente = crearClientes(1, 3).getFirst();
+
+        estadisticas.clear();
+        ClienteResponseDTO porId = clienteService.buscarPorId(cliente.getId());
+        ClienteResponseDTO porDni = clienteService.buscarPorDni(cliente.getDni());
+
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        assertEquals(3, porId.CantidadCuentas());
+        assertEquals(3, porDni.CantidadCuentas());
+    }
+
+    private long sentenciasAlListar() {
+        estadisticas.clear();
+        clienteService.listarClientes();
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private List<Cliente> crearClientes(int cantidad, int cuentasPorCliente) {
+        return IntStream.range(0, cantidad).mapToObj(i -> {
+            Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente " + i));
+            for (int j = 0; j < cuentasPorCliente; j++) {
+                cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.AHORRO, BigDecimal.ZERO));
+            }
+            return cliente;
+        }).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.CuentaRequestDTO;
+import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.PuntoControlSaldo;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.support.DatosPrueba;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CrearCuentaSentenciasTest {
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Crear una cuenta emite un único INSERT de la cuenta con el número de cuenta asignado")
+    void crearCuenta_unSoloInsert() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente cuenta"));
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        CuentaResponseDTO cuenta = cuentaService.crearCuenta(
+                new CuentaRequestDTO(cliente.getId(), TipoCuenta.CORRIENTE, new BigDecimal("5000")));
+
+        assertEquals(String.format("CTA-%05d", cuenta.id()), cuenta.nroCuenta());
+        // La cuenta y su punto de control de apertura en el libro mayor
+        assertEquals(1, estadisticas.getEntityStatistics(Cuenta.class.getName()).getInsertCount());
+        assertEquals(1, estadisticas.getEntityStatistics(PuntoControlSaldo.class.getName()).getInsertCount());
+        assertEquals(2, estadisticas.getEntityInsertCount());
+        assertEquals(0, estadisticas.getEntityUpdateCount());
+    }
+}
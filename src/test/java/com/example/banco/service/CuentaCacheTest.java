@@ -0,0 +1,96 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.response.CuentaResponseDTO;
+import com.example.banco.dto.response.EstadisticasCacheDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.EstadoCuenta;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CuentaCacheTest {
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+    private Cuenta cuenta;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente cache"));
+        cuenta = cuentaRepository.saveAndFlush(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Las consultas repetidas por id y por número de cuenta no vuelven a la base")
+    void buscar_consultasRepetidasSeSirvenDeCache() {
+        EstadisticasCacheDTO antes = cuentaService.estadisticasCache();
+
+        estadisticas.clear();
+        for (int i = 0; i < 5; i++) {
+            cuentaService.buscarPorId(cuenta.getId());
+            cuentaService.buscarPorNroCuenta(cuenta.getNroCuenta());
+        }
+
+        // Una lectura del DTO y una del id por número de cuenta
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        EstadisticasCacheDTO despues = cuentaService.estadisticasCache();
+        assertEquals(1, despues.fallos() - antes.fallos());
+        assertEquals(9, despues.aciertos() - antes.aciertos());
+    }
+
+    @Test
+    @DisplayName("Un depósito invalida la cuenta y la siguiente lectura ve el saldo nuevo")
+    void depositar_invalidaCache() {
+        cuentaService.buscarPorNroCuenta(cuenta.getNroCuenta());
+
+        transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), new BigDecimal("50.00")));
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(cuentaService.buscarPorId(cuenta.getId()).saldo()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(cuentaService.buscarPorNroCuenta(cuenta.getNroCuenta()).saldo()));
+    }
+
+    @Test
+    @DisplayName("Cambiar el estado invalida la cuenta")
+    void cambiarEstado_invalidaCache() {
+        cuentaService.buscarPorId(cuenta.getId());
+
+        cuentaService.cambiarEstado(EstadoCuenta.BLOQUEADA, cuenta.getId());
+
+        CuentaResponseDTO leida = cuentaService.buscarPorId(cuenta.getId());
+        assertEquals(EstadoCuenta.BLOQUEADA.name(), leida.estadoCuenta());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.EntidadNoEncontradaException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class ExportacionTransaccionesTest {
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    @Test
+    @DisplayName("Exporta el historial completo de la cuenta en orden cronológico, una línea JSON por transacción")
+    void exportar_historialCompleto() {
+        Cuenta cuenta = crearCuenta();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            ids.add(transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), BigDecimal.ONE)).id());
+        }
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        transaccionService.exportarTransaccionesPorCuenta(cuenta.getId(), salida);
+
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ids.size(), lineas.length);
+        for (int i = 0; i < lineas.length; i++) {
+            TransaccionResponseDTO transaccion = jsonMapper.readValue(lineas[i], TransaccionResponseDTO.class);
+            assertEquals(ids.get(i), transaccion.id());
+            assertEquals(cuenta.getNroCuenta(), transaccion.nroCuentaDestino());
+        }
+    }
+
+    @Test
+    @DisplayName("Falla si la cuenta no existe")
+    void exportar_cuentaNoExiste() {
+        assertThrows(EntidadNoEncontradaException.class,
+                () -> transaccionService.exportarTransaccionesPorCuenta(-1L, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("La exportación gzip por el controlador descomprime al mismo contenido")
+    void exportarGzip_controlador() throws Exception {
+        Cuenta cuenta = crearCuenta();
+        transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), BigDecimal.ONE));
+        transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), BigDecimal.TEN));
+        ByteArrayOutputStream esperado = new ByteArrayOutputStream();
+        transaccionService.exportarTransaccionesPorCuenta(cuenta.getId(), esperado);
+
+        MvcResult resultado = mockMvc().perform(get("/banco/transacciones/cuenta/{id}/exportar", cuenta.getId()).param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(resultado.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(esperado.toByteArray(), entrada.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("La exportación gzip de una cuenta inexistente responde 404 sin Content-Encoding")
+    void exportarGzip_cuentaNoExiste() throws Exception {
+        mockMvc().perform(get("/banco/transacciones/cuenta/{id}/exportar", -1L).param("gzip", "true"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    @DisplayName("Una cuenta sin movimientos se exporta vacía con sus headers")
+    void exportar_cuentaSinMovimientos() throws Exception {
+        Cuenta cuenta = crearCuenta();
+
+        MvcResult resultado = mockMvc().perform(get("/banco/transacciones/cuenta/{id}/exportar", cuenta.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"cuenta-" + cuenta.getId() + ".ndjson\""))
+                .andReturn();
+
+        assertEquals(0, resultado.getResponse().getContentAsByteArray().length);
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.webAppContextSetup(contexto).build();
+    }
+
+    private Cuenta crearCuenta() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente exportación"));
+        return cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.CuentaRequestDTO;
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.MovimientoExtractoDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.enums.ModoLote;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import com.example.banco.support.PresupuestoSentencias;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ExtractoCuentaTest {
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Long cuentaA;
+    private Long cuentaB;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente extracto"));
+
+        cuentaA = cuentaService.crearCuenta(new CuentaRequestDTO(cliente.getId(), TipoCuenta.CORRIENTE, new BigDecimal("1000"))).id();
+        cuentaB = cuentaService.crearCuenta(new CuentaRequestDTO(cliente.getId(), TipoCuenta.CORRIENTE, new BigDecimal("1000"))).id();
+
+        transaccionService.depositar(new DepositoRequestDTO(cuentaA, new BigDecimal("500")));
+        transaccionService.retirar(new RetiroRequestDTO(cuentaA, new BigDecimal("200")));
+        transaccionService.transferir(new TransferenciaRequestDTO(cuentaA, cuentaB, new BigDecimal("300")));
+        transaccionService.transferir(new TransferenciaRequestDTO(cuentaB, cuentaA, new BigDecimal("50")));
+        transaccionService.transferirLote(new LoteTransferenciaRequestDTO(ModoLote.MEJOR_ESFUERZO, List.of(
+                new TransferenciaRequestDTO(cuentaA, cuentaB, new BigDecimal("10")),
+                new TransferenciaRequestDTO(cuentaA, cuentaB, new BigDecimal("20")))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PresupuestoSentencias.detener();
+    }
+
+    @Test
+    @DisplayName("Recorrer el extracto por páginas da los movimientos en orden con saldos encadenados")
+    void extracto_paginasConSaldoCorrido() {
+        LocalDate hoy = LocalDate.now();
+        cuentaService.buscarPorId(cuentaA);
+
+        List<MovimientoExtractoDTO> movimientos = new ArrayList<>();
+        String cursor = null;
+        do {
+            // Con la cuenta en cache: los dos límites del tramo y la página, sin lecturas por fila
+            PresupuestoSentencias.iniciar();
+            PaginaResponseDTO<MovimientoExtractoDTO> pagina = cuentaService.extracto(cuentaA, hoy.minusDays(1), hoy, cursor, 2);
+            PresupuestoSentencias.assertQueryCount(3);
+            PresupuestoSentencias.detener();
+            assertTrue(pagina.contenido().size() <= 2);
+            movimientos.addAll(pagina.contenido());
+            cursor = pagina.siguiente();
+        } while (cursor != null);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), movimientos.stream().map(MovimientoExtractoDTO::numero).toList());
+        assertEquals(List.of("DEPOSITO", "RETIRO", "TRANSFERENCIA", "TRANSFERENCIA", "TRANSFERENCIA", "TRANSFERENCIA"),
+                movimientos.stream().map(MovimientoExtractoDTO::tipoTransaccion).toList());
+        assertEquals(List.of("CREDITO", "DEBITO", "DEBITO", "CREDITO", "DEBITO", "DEBITO"),
+                movimientos.stream().map(MovimientoExtractoDTO::tipoAsiento).toList());
+
+        assertEquals(0, new BigDecimal("1000").compareTo(movimientos.getFirst().saldoAnterior()));
+        for (int i = 1; i < movimientos.size(); i++) {
+            assertEquals(0, movimientos.get(i - 1).saldoPosterior().compareTo(movimientos.get(i).saldoAnterior()));
+        }
+        assertEquals(0, new BigDecimal("1020").compareTo(movimientos.getLast().saldoPosterior()));
+    }
+
+    @Test
+    @DisplayName("Un rango sin movimientos devuelve una página vacía y un rango invertido se rechaza")
+    void extracto_rangosSinMovimientosEInvertidos() {
+        LocalDate hoy = LocalDate.now();
+        assertTrue(cuentaService.extracto(cuentaA, hoy.minusYears(1), hoy.minusDays(1), null, null).contenido().isEmpty());
+        assertTrue(cuentaService.extracto(cuentaA, hoy.plusDays(1), hoy.plusDays(30), null, null).contenido().isEmpty());
+        assertThrows(ValidacionException.class, () -> cuentaService.extracto(cuentaA, hoy, hoy.minusDays(1), null, null));
+        assertThrows(ValidacionException.class, () -> cuentaService.extracto(cuentaA, hoy, hoy, "no-es-un-cursor!", null));
+    }
+}
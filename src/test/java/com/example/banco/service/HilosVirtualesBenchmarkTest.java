@@ -0,0 +1,156 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.exception.CuentaOcupadaException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compara un pool fijo de hilos de plataforma (como el de Tomcat) contra un hilo virtual por
+// tarea, con la misma mezcla de transferir y buscarPorId. Mientras corren los hilos virtuales se
+// registran con JFR los eventos jdk.VirtualThreadPinned para detectar bloqueos con el hilo fijado.
+@Tag("carga")
+@SpringBootTest
+class HilosVirtualesBenchmarkTest {
+
+    private static final int HILOS_PLATAFORMA = 16;
+    private static final int TAREAS = 2000;
+    private static final int CUENTAS = 40;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000");
+    private static final BigDecimal MONTO = new BigDecimal("10");
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    @DisplayName("Transferir y buscarPorId con hilos de plataforma y con hilos virtuales")
+    void plataformaVsVirtuales(TestReporter reporte) throws Exception {
+        List<Cuenta> cuentas = crearCuentas();
+
+        // Calentamiento: JIT, pool de conexiones y cache de cuentas
+        ejecutar(Executors.newFixedThreadPool(HILOS_PLATAFORMA), cuentas, TAREAS / 4);
+
+        Resultado plataforma = ejecutar(Executors.newFixedThreadPool(HILOS_PLATAFORMA), cuentas, TAREAS);
+
+        List<String> fijados = new CopyOnWriteArrayList<>();
+        Resultado virtuales;
+        try (RecordingStream grabacion = new RecordingStream()) {
+            grabacion.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            grabacion.onEvent("jdk.VirtualThreadPinned", evento -> fijados.add(resumir(evento)));
+            grabacion.startAsync();
+
+            virtuales = ejecutar(Executors.newVirtualThreadPerTaskExecutor(), cuentas, TAREAS);
+            grabacion.stop();
+        }
+
+        reporte.publishEntry(Map.of(
+                "plataforma", String.format("%d hilos: %.0f ops/s, %d rechazadas por timeout",
+                        HILOS_PLATAFORMA, plataforma.opsPorSegundo(), plataforma.ocupadas()),
+                "virtuales", String.format("%.0f ops/s, %d rechazadas por timeout, %d eventos de pinning",
+                        virtuales.opsPorSegundo(), virtuales.ocupadas(), fijados.size())));
+        fijados.stream().distinct().limit(5).forEach(pila -> reporte.publishEntry("fijado en", pila));
+
+        // El driver de H2 sincroniza internamente, así que no se exige cero eventos; sí que ninguno
+        // provenga de la cache de cuentas, que carga fuera del lock de Caffeine.
+        assertTrue(fijados.stream().noneMatch(pila -> pila.contains("CuentaCacheService")), fijados::toString);
+
+        BigDecimal total = cuentas.stream()
+                .map(cuenta -> cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, SALDO_INICIAL.multiply(BigDecimal.valueOf(CUENTAS)).compareTo(total));
+    }
+
+    private Resultado ejecutar(ExecutorService executor, List<Cuenta> cuentas, int tareas) throws Exception {
+        AtomicInteger ocupadas = new AtomicInteger();
+        List<Future<?>> pendientes = new ArrayList<>();
+        long inicio = System.nanoTime();
+
+        try (executor) {
+            for (int i = 0; i < tareas; i++) {
+                boolean esTransferencia = i % 2 == 0;
+                pendientes.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int origen = random.nextInt(cuentas.size());
+                    if (!esTransferencia) {
+                        cuentaService.buscarPorId(cuentas.get(origen).getId());
+                        return;
+                    }
+                    int destino = (origen + 1 + random.nextInt(cuentas.size() - 1)) % cuentas.size();
+                    try {
+                        transaccionService.transferir(new TransferenciaRequestDTO(
+                                cuentas.get(origen).getId(), cuentas.get(destino).getId(), MONTO));
+                    } catch (CuentaOcupadaException e) {
+                        ocupadas.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get(2, TimeUnit.MINUTES);
+            }
+        }
+
+        long duracionNanos = System.nanoTime() - inicio;
+        return new Resultado(tareas / (duracionNanos / 1_000_000_000.0), ocupadas.get());
+    }
+
+    private String resumir(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "(sin pila)";
+        }
+        return evento.getStackTrace().getFrames().stream()
+                .limit(12)
+                .map(RecordedFrame::getMethod)
+                .map(metodo -> metodo.getType().getName() + "." + metodo.getName())
+                .toList()
+                .toString();
+    }
+
+    private List<Cuenta> crearCuentas() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente hilos virtuales"));
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (int i = 0; i < CUENTAS; i++) {
+            cuentas.add(cuentaRepository.save(DatosPrueba.cuentaOperable(cliente, SALDO_INICIAL)));
+        }
+        return cuentas;
+    }
+
+    private record Resultado(double opsPorSegundo, int ocupadas) {
+    }
+}
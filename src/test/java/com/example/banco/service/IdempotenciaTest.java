@@ -0,0 +1,149 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.response.RespuestaIdempotenteDTO;
+import com.example.banco.exception.ClaveIdempotenciaReutilizadaException;
+import com.example.banco.model.ClaveIdempotencia;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ClaveIdempotenciaRepository;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.IIdempotenciaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdempotenciaTest {
+
+    @Autowired
+    private IIdempotenciaService idempotenciaService;
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private ClaveIdempotenciaRepository claveIdempotenciaRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Cuenta cuenta;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente idempotencia"));
+        cuenta = cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Repetir un depósito con la misma clave devuelve la transacción original sin mover dinero")
+    void depositar_repetidoConMismaClave_seAplicaUnaVez() {
+        String clave = UUID.randomUUID().toString();
+        DepositoRequestDTO deposito = new DepositoRequestDTO(cuenta.getId(), new BigDecimal("100.00"));
+
+        RespuestaIdempotenteDTO primera = depositar(clave, deposito);
+        RespuestaIdempotenteDTO segunda = depositar(clave, deposito);
+
+        assertFalse(primera.repetida());
+        assertTrue(segunda.repetida());
+        assertEquals(primera.transaccion(), segunda.transaccion());
+        assertEquals(0, new BigDecimal("100.00").compareTo(saldo()));
+    }
+
+    @Test
+    @DisplayName("Reintentos concurrentes con la misma clave se aplican una sola vez")
+    void depositar_concurrenteConMismaClave_seAplicaUnaVez() throws Exception {
+        String clave = UUID.randomUUID().toString();
+        DepositoRequestDTO deposito = new DepositoRequestDTO(cuenta.getId(), new BigDecimal("100.00"));
+        int hilos = 4;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<RespuestaIdempotenteDTO>> respuestas = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(hilos)) {
+            for (int i = 0; i < hilos; i++) {
+                respuestas.add(executor.submit(() -> {
+                    largada.await();
+                    return depositar(clave, deposito);
+                }));
+            }
+            largada.countDown();
+
+            Long idTransaccion = respuestas.getFirst().get().transaccion().id();
+            for (Future<RespuestaIdempotenteDTO> respuesta : respuestas) {
+                assertEquals(idTransaccion, respuesta.get().transaccion().id());
+            }
+        }
+
+        assertEquals(1, respuestas.stream().filter(r -> !r.resultNow().repetida()).count());
+        assertEquals(0, new BigDecimal("100.00").compareTo(saldo()));
+    }
+
+    @Test
+    @DisplayName("Reusar una clave con otra solicitud es un error")
+    void depositar_claveReusadaConOtraSolicitud_lanzaExcepcion() {
+        String clave = UUID.randomUUID().toString();
+        depositar(clave, new DepositoRequestDTO(cuenta.getId(), new BigDecimal("100.00")));
+
+        assertThrows(ClaveIdempotenciaReutilizadaException.class,
+                () -> depositar(clave, new DepositoRequestDTO(cuenta.getId(), new BigDecimal("200.00"))));
+        assertEquals(0, new BigDecimal("100.00").compareTo(saldo()));
+    }
+
+    @Test
+    @DisplayName("El mismo monto con otra escala es la misma solicitud")
+    void depositar_mismoMontoConOtraEscala_esRepeticion() {
+        String clave = UUID.randomUUID().toString();
+        RespuestaIdempotenteDTO primera = depositar(clave, new DepositoRequestDTO(cuenta.getId(), new BigDecimal("100")));
+        RespuestaIdempotenteDTO segunda = depositar(clave, new DepositoRequestDTO(cuenta.getId(), new BigDecimal("100.00")));
+
+        assertTrue(segunda.repetida());
+        assertEquals(primera.transaccion().id(), segunda.transaccion().id());
+        assertEquals(0, new BigDecimal("100").compareTo(saldo()));
+    }
+
+    @Test
+    @DisplayName("La purga borra solo las claves vencidas")
+    void purgarVencidas_borraClavesViejas() {
+        ClaveIdempotencia vieja = new ClaveIdempotencia(UUID.randomUUID().toString(), "x".repeat(64), 1L);
+        vieja.setCreadaEn(LocalDateTime.now().minusDays(2));
+        ClaveIdempotencia nueva = new ClaveIdempotencia(UUID.randomUUID().toString(), "x".repeat(64), 1L);
+        claveIdempotenciaRepository.saveAll(List.of(vieja, nueva));
+
+        idempotenciaService.purgarVencidas();
+
+        assertTrue(claveIdempotenciaRepository.findByClave(vieja.getClave()).isEmpty());
+        assertTrue(claveIdempotenciaRepository.findByClave(nueva.getClave()).isPresent());
+    }
+
+    private RespuestaIdempotenteDTO depositar(String clave, DepositoRequestDTO deposito) {
+        return idempotenciaService.ejecutar(clave, TipoTransaccion.DEPOSITO, deposito,
+                () -> transaccionService.depositar(deposito));
+    }
+
+    private BigDecimal saldo() {
+        return cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.FiltroTransaccionesDTO;
+import com.example.banco.mapper.CursorMapper;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.AsientoRepository;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.PuntoControlSaldoRepository;
+import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.repository.TransaccionSpecifications;
+import com.example.banco.support.CapturaSentencias;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifica con EXPLAIN que cada consulta de los repositorios se resuelve con el índice pensado
+// para ella. Se explica el SQL que Hibernate realmente genera, capturado con CapturaSentencias.
+@SpringBootTest
+class IndicesConsultasTest {
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AsientoRepository asientoRepository;
+
+    @Autowired
+    private PuntoControlSaldoRepository puntoControlSaldoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static final LocalDateTime AHORA = LocalDateTime.now();
+
+    private Cuenta cuenta;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente índices"));
+        cuenta = cuentaRepository.saveAndFlush(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Los movimientos de una cuenta usan un índice por cada rama del UNION")
+    void paginaPorCuenta_usaIndicesOrigenYDestino() {
+        String plan = explicar(() -> transaccionRepository.findPaginaByCuentaId(cuenta.getId(), AHORA, Long.MAX_VALUE, 10));
+
+        assertTrue(plan.contains("ix_transacciones_origen_fecha"), plan);
+        assertTrue(plan.contains("ix_transacciones_destino_fecha"), plan);
+    }
+
+    @Test
+    @DisplayName("El historial exportado no recorre la tabla completa de transacciones")
+    void historialPorCuenta_usaIndicesOrigenYDestino() {
+        String plan = explicar(() -> transactionTemplate.executeWithoutResult(estado -> {
+            try (var stream = transaccionRepository.streamByCuentaId(cuenta.getId())) {
+                stream.count();
+            }
+        }));
+
+        // Sin LIMIT, H2 prefiere los índices que crea por su cuenta para las claves foráneas;
+        // lo que importa es que ninguna rama del UNION haga un table scan.
+        assertFalse(plan.contains("transacciones.tablescan"), plan);
+        assertTrue(plan.contains("cuenta_origen_id = ?1 */"), plan);
+        assertTrue(plan.contains("cuenta_destino_id = ?2 */"), plan);
+    }
+
+    @Test
+    @DisplayName("El listado por estado usa el índice (estado, fecha_hora, id)")
+    void paginaPorEstado_usaIndiceEstado() {
+        String plan = explicar(() -> transaccionRepository.findPaginaByEstado(
+                EstadoTransaccion.COMPLETADA, AHORA, Long.MAX_VALUE, Limit.of(10)));
+
+        assertTrue(plan.contains("ix_transacciones_estado_fecha"), plan);
+    }
+
+    @Test
+    @DisplayName("Los retiros por rango de fechas usan el índice de origen")
+    void retirosPorFecha_usaIndiceOrigen() {
+        String plan = explicar(() -> transaccionRepository.findByCuentaOrigenIdAndFechaHoraBetween(
+                cuenta.getId(), AHORA.minusDays(1), AHORA));
+
+        assertTrue(plan.contains("ix_transacciones_origen_fecha"), plan);
+    }
+
+    @Test
+    @DisplayName("Las búsquedas de cuentas por número y por cliente usan sus índices")
+    void cuentas_usanIndicesNroCuentaYCliente() {
+        String porNumero = explicar(() -> cuentaRepository.findResponseByNroCuenta(cuenta.getNroCuenta()));
+        String porCliente = explicar(() -> cuentaRepository.findResponseByClienteId(cuenta.getCliente().getId()));
+
+        assertTrue(porNumero.contains("ux_cuentas_nro_cuenta"), porNumero);
+        assertTrue(porCliente.contains("ix_cuentas_cliente"), porCliente);
+    }
+
+    @Test
+    @DisplayName("El saldo a una fecha usa los índices por fecha de puntos de control y asientos")
+    void saldoAl_usaIndicesLibroMayor() {
+        String punto = explicar(() -> puntoControlSaldoRepository.findUltimoAl(cuenta.getId(), AHORA, Limit.of(1)));
+        String asiento = explicar(() -> asientoRepository.findSaldoAl(cuenta.getId(), AHORA, 0, Limit.of(1)));
+
+        assertTrue(punto.contains("ix_puntos_control_cuenta_fecha"), punto);
+        assertTrue(asiento.contains("ix_asientos_cuenta_fecha"), asiento);
+    }
+
+    @Test
+    @DisplayName("El extracto acota el tramo por fecha y pagina por número de asiento")
+    void extracto_usaIndicesLibroMayor() {
+        String limite = explicar(() -> asientoRepository.findNumeroAntesDe(cuenta.getId(), AHORA, Limit.of(1)));
+        String pagina = explicar(() -> asientoRepository.findExtracto(cuenta.getId(), 0, 100, Limit.of(10)));
+
+        assertTrue(limite.contains("ix_asientos_cuenta_fecha"), limite);
+        assertTrue(pagina.contains("ux_asientos_cuenta_numero"), pagina);
+    }
+
+    @Test
+    @DisplayName("Cada filtro admitido por la búsqueda arranca por su índice y no recorre la tabla")
+    void busqueda_usaIndicePorFiltroPrincipal() {
+        String porOrigen = explicarBusqueda(new FiltroTransaccionesDTO(cuenta.getId(), null, TipoTransaccion.RETIRO,
+                null, null, null, BigDecimal.ONE, null));
+        String porDestino = explicarBusqueda(new FiltroTransaccionesDTO(null, cuenta.getId(), null,
+                EstadoTransaccion.COMPLETADA, AHORA.minusDays(90), AHORA, null, null));
+        String porEstado = explicarBusqueda(new FiltroTransaccionesDTO(null, null, TipoTransaccion.DEPOSITO,
+                EstadoTransaccion.FALLIDA, null, null, null, BigDecimal.TEN));
+        String porFecha = explicarBusqueda(new FiltroTransaccionesDTO(null, null, TipoTransaccion.TRANSFERENCIA,
+                null, AHORA.minusDays(7), AHORA, BigDecimal.ONE, BigDecimal.TEN));
+
+        assertTrue(porOrigen.contains("ix_transacciones_origen_fecha"), porOrigen);
+        assertTrue(porDestino.contains("ix_transacciones_destino_fecha"), porDestino);
+        assertTrue(porEstado.contains("ix_transacciones_estado_fecha"), porEstado);
+        assertTrue(porFecha.contains("ix_transacciones_fecha"), porFecha);
+        for (String plan : List.of(porOrigen, porDestino, porEstado, porFecha)) {
+            assertFalse(plan.contains("transacciones.tablescan"), plan);
+        }
+    }
+
+    private String explicarBusqueda(FiltroTransaccionesDTO filtro) {
+        return explicar(() -> transaccionRepository.buscar(TransaccionSpecifications.filtrar(filtro)
+                .and(TransaccionSpecifications.anteriorA(CursorMapper.INICIO)), Limit.of(10)));
+    }
+
+    private String explicar(Runnable consulta) {
+        CapturaSentencias.iniciar();
+        consulta.run();
+        List<String> sentencias = CapturaSentencias.detener();
+        assertEquals(1, sentencias.size(), () -> "Se esperaba una sola sentencia: " + sentencias);
+        String sql = sentencias.getFirst();
+        // EXPLAIN en H2 acepta la sentencia con los parámetros sin enlazar
+        return jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql),
+                rs -> rs.next() ? rs.getString(1) : "").toLowerCase();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.banco.service;
+
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.support.DatosPrueba;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compara la inserción de Transaccion (secuencia pooled, lotes de hibernate.jdbc.batch_size) con
+// una línea base IDENTITY: con ids generados por la base Hibernate no puede agrupar inserts y
+// prepara una sentencia por fila para leer la clave generada, que es lo que reproduce la línea base
+// con JDBC sobre una tabla con columna identity.
+@Tag("carga")
+@SpringBootTest
+class InsercionTransaccionesBenchmarkTest {
+
+    private static final int CANTIDAD = 5000;
+    private static final int RONDAS = 3;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Línea base IDENTITY: una sentencia por fila")
+    void insercionMasivaIdentity(TestReporter reporte) throws SQLException {
+        Cuenta cuenta = crearCuenta();
+
+        try (Connection conexion = dataSource.getConnection()) {
+            try (Statement ddl = conexion.createStatement()) {
+                ddl.execute("""
+                        CREATE TABLE transacciones_identidad (
+                            id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                            tipo_transaccion VARCHAR(255) NOT NULL,
+                            estado VARCHAR(255) NOT NULL,
+                            cuenta_destino_id BIGINT,
+                            monto NUMERIC(19, 2) NOT NULL,
+                            fecha_hora TIMESTAMP NOT NULL)
+                        """);
+            }
+            try {
+                conexion.setAutoCommit(false);
+                for (int ronda = 1; ronda <= RONDAS; ronda++) {
+                    long inicio = System.nanoTime();
+                    int preparadas = 0;
+                    for (int i = 0; i < CANTIDAD; i++) {
+                        try (PreparedStatement insert = conexion.prepareStatement(
+                                "INSERT INTO transacciones_identidad (tipo_transaccion, estado, cuenta_destino_id, monto, fecha_hora) " +
+                                        "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                            preparadas++;
+                            insert.setString(1, TipoTransaccion.DEPOSITO.name());
+                            insert.setString(2, EstadoTransaccion.COMPLETADA.name());
+                            insert.setLong(3, cuenta.getId());
+                            insert.setBigDecimal(4, BigDecimal.TEN);
+                            insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                            insert.executeUpdate();
+                            try (ResultSet clave = insert.getGeneratedKeys()) {
+                                clave.next();
+                            }
+                        }
+                    }
+                    conexion.commit();
+                    long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+                    reporte.publishEntry("identity ronda " + ronda, String.format("%d inserciones en %d ms, %d sentencias preparadas",
+                            CANTIDAD, duracionMs, preparadas));
+                }
+            } finally {
+                conexion.rollback();
+                conexion.setAutoCommit(true);
+                try (Statement ddl = conexion.createStatement()) {
+                    ddl.execute("DROP TABLE transacciones_identidad");
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Inserción masiva de transacciones")
+    void insercionMasiva(TestReporter reporte) {
+        Cuenta cuenta = crearCuenta();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int ronda = 1; ronda <= RONDAS; ronda++) {
+            List<Transaccion> transacciones = new ArrayList<>(CANTIDAD);
+            for (int i = 0; i < CANTIDAD; i++) {
+                Transaccion transaccion = new Transaccion();
+                transaccion.setTipoTransaccion(TipoTransaccion.DEPOSITO);
+                transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+                transaccion.setCuentaDestino(cuenta);
+                transaccion.setMonto(BigDecimal.TEN);
+                transaccion.setFechaHora(LocalDateTime.now());
+                transacciones.add(transaccion);
+            }
+
+            estadisticas.clear();
+            long inicio = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> transaccionRepository.saveAll(transacciones));
+            long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+            assertEquals(CANTIDAD, estadisticas.getEntityInsertCount());
+            reporte.publishEntry("secuencia pooled ronda " + ronda, String.format("%d inserciones en %d ms, %d sentencias preparadas",
+                    CANTIDAD, duracionMs, estadisticas.getPrepareStatementCount()));
+        }
+    }
+
+    private Cuenta crearCuenta() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente benchmark"));
+        return cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO));
+    }
+}
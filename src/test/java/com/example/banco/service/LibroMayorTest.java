@@ -0,0 +1,168 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.CuentaRequestDTO;
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.LoteTransferenciaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Asiento;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.PuntoControlSaldo;
+import com.example.banco.model.enums.ModoLote;
+import com.example.banco.model.enums.TipoAsiento;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.AsientoRepository;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.PuntoControlSaldoRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import com.example.banco.support.PresupuestoSentencias;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// La configuración de test guarda un punto de control cada 5 asientos
+@SpringBootTest
+class LibroMayorTest {
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private AsientoRepository asientoRepository;
+
+    @Autowired
+    private PuntoControlSaldoRepository puntoControlSaldoRepository;
+
+    private LocalDateTime antesDeAbrir;
+    private Long cuentaA;
+    private Long cuentaB;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente libro mayor"));
+
+        antesDeAbrir = LocalDateTime.now();
+        cuentaA = cuentaService.crearCuenta(new CuentaRequestDTO(cliente.getId(), TipoCuenta.CORRIENTE, new BigDecimal("1000"))).id();
+        cuentaB = cuentaService.crearCuenta(new CuentaRequestDTO(cliente.getId(), TipoCuenta.CORRIENTE, new BigDecimal("1000"))).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PresupuestoSentencias.detener();
+    }
+
+    @Test
+    @DisplayName("Cada operación deja asientos correlativos con el saldo resultante")
+    void operaciones_dejanAsientosConSaldoCorrido() {
+        transaccionService.depositar(new DepositoRequestDTO(cuentaA, new BigDecimal("500")));
+        transaccionService.retirar(new RetiroRequestDTO(cuentaA, new BigDecimal("200")));
+        TransaccionResponseDTO transferencia = transaccionService.transferir(
+                new TransferenciaRequestDTO(cuentaA, cuentaB, new BigDecimal("300")));
+
+        List<Asiento> asientosA = asientos(cuentaA);
+        assertEquals(List.of(1L, 2L, 3L), asientosA.stream().map(Asiento::getNumero).toList());
+        assertEquals(List.of(TipoAsiento.CREDITO, TipoAsiento.DEBITO, TipoAsiento.DEBITO),
+                asientosA.stream().map(Asiento::getTipo).toList());
+        assertSaldos(List.of("1500", "1300", "1000"), asientosA);
+
+        List<Asiento> asientosB = asientos(cuentaB);
+        assertEquals(1, asientosB.size());
+        assertEquals(TipoAsiento.CREDITO, asientosB.getFirst().getTipo());
+        assertEquals(transferencia.id(), asientosB.getFirst().getTransaccionId());
+        assertEquals(transferencia.id(), asientosA.getLast().getTransaccionId());
+        assertSaldos(List.of("1300"), asientosB);
+
+        assertEquals(0, cuentaRepository.findById(cuentaA).orElseThrow().getSaldo().compareTo(asientosA.getLast().getSaldoResultante()));
+        assertEquals(3, cuentaRepository.findById(cuentaA).orElseThrow().getUltimoAsiento());
+    }
+
+    @Test
+    @DisplayName("El saldo a una fecha sale del último punto de control y un rango corto de asientos")
+    void saldoAl_resuelveConPuntoDeControl() {
+        List<LocalDateTime> momentos = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            momentos.add(transaccionService.depositar(new DepositoRequestDTO(cuentaA, new BigDecimal("10"))).fechaHora());
+        }
+
+        List<Long> puntos = puntoControlSaldoRepository.findAll().stream()
+                .filter(p -> p.getCuentaId().equals(cuentaA))
+                .map(PuntoControlSaldo::getNumero)
+                .sorted()
+                .toList();
+        assertEquals(List.of(0L, 5L, 10L), puntos);
+
+        assertThrows(ValidacionException.class, () -> cuentaService.saldoAl(cuentaA, antesDeAbrir.minusSeconds(1)));
+        for (int i = 0; i < momentos.size(); i++) {
+            BigDecimal esperado = new BigDecimal("1000").add(BigDecimal.TEN.multiply(BigDecimal.valueOf(i + 1)));
+            assertEquals(0, esperado.compareTo(cuentaService.saldoAl(cuentaA, momentos.get(i)).saldo()), "Depósito " + (i + 1));
+        }
+        assertEquals(0, new BigDecimal("1120").compareTo(cuentaService.saldoAl(cuentaA, null).saldo()));
+
+        // Con la cuenta en cache, un punto de control y un asiento
+        cuentaService.buscarPorId(cuentaA);
+        PresupuestoSentencias.iniciar();
+        cuentaService.saldoAl(cuentaA, momentos.get(7));
+        PresupuestoSentencias.assertQueryCount(2);
+    }
+
+    @Test
+    @DisplayName("Un lote rechazado no deja asientos y uno aplicado deja dos por transferencia")
+    void lote_asientaSoloLoAplicado() {
+        List<TransferenciaRequestDTO> transferencias = List.of(
+                new TransferenciaRequestDTO(cuentaA, cuentaB, new BigDecimal("100")),
+                new TransferenciaRequestDTO(cuentaB, cuentaA, new BigDecimal("50000")));
+
+        LoteTransferenciaResponseDTO rechazado = transaccionService.transferirLote(
+                new LoteTransferenciaRequestDTO(ModoLote.TODO_O_NADA, transferencias));
+        assertFalse(rechazado.aplicado());
+        assertTrue(asientos(cuentaA).isEmpty());
+        assertEquals(0, cuentaRepository.findById(cuentaA).orElseThrow().getUltimoAsiento());
+
+        LoteTransferenciaResponseDTO aplicado = transaccionService.transferirLote(
+                new LoteTransferenciaRequestDTO(ModoLote.MEJOR_ESFUERZO, transferencias));
+        assertTrue(aplicado.aplicado());
+        assertSaldos(List.of("900"), asientos(cuentaA));
+        assertSaldos(List.of("1100"), asientos(cuentaB));
+    }
+
+    private List<Asiento> asientos(Long cuentaId) {
+        return asientoRepository.findAll().stream()
+                .filter(a -> a.getCuentaId().equals(cuentaId))
+                .sorted(Comparator.comparingLong(Asiento::getNumero))
+                .toList();
+    }
+
+    private void assertSaldos(List<String> esperados, List<Asiento> asientos) {
+        assertEquals(esperados.size(), asientos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            assertEquals(0, new BigDecimal(esperados.get(i)).compareTo(asientos.get(i).getSaldoResultante()),
+                    "Asiento " + asientos.get(i).getNumero());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.EventoOutbox;
+import com.example.banco.model.OffsetPublicacion;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.EventoOutboxRepository;
+import com.example.banco.repository.OffsetPublicacionRepository;
+import com.example.banco.service.destino.DestinoEventos;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// El despacho programado está desactivado en la configuración de test; se despacha a mano.
+@SpringBootTest
+class OutboxTest {
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private OffsetPublicacionRepository offsetPublicacionRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private Cuenta cuentaA;
+    private Cuenta cuentaB;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente outbox"));
+
+        cuentaA = crearCuenta(cliente);
+        cuentaB = crearCuenta(cliente);
+    }
+
+    @Test
+    @DisplayName("Cada transacción deja un evento que el despachador publica y registra en el offset")
+    void transaccion_dejaEventoQueSePublica() {
+        TransaccionResponseDTO deposito = transaccionService.depositar(new DepositoRequestDTO(cuentaA.getId(), new BigDecimal("100")));
+        TransaccionResponseDTO transferencia = transaccionService.transferir(
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("50")));
+
+        EventoOutbox evento = evento(transferencia.id());
+        assertNull(evento.getPublicadoEn());
+        assertEquals("TRANSFERENCIA", evento.getTipo());
+        assertEquals(transferencia, jsonMapper.readValue(evento.getCarga(), TransaccionResponseDTO.class));
+        assertTrue(eventoOutboxRepository.countPendientes() >= 2);
+
+        assertTrue(outboxService.despachar() >= 2);
+
+        assertNotNull(evento(deposito.id()).getPublicadoEn());
+        assertNotNull(evento(transferencia.id()).getPublicadoEn());
+        assertEquals(0, registry.get("banco.outbox.pendientes").gauge().value());
+        assertEquals(0, registry.get("banco.outbox.retraso").gauge().value());
+        OffsetPublicacion offset = offsetPublicacionRepository.findById("log").orElseThrow();
+        assertTrue(offset.getUltimoEventoId() >= evento(transferencia.id()).getId());
+    }
+
+    @Test
+    @DisplayName("El offset se crea una vez y no retrocede con lotes confirmados fuera de orden")
+    void offset_noRetrocede() {
+        String nombre = "destino-" + UUID.randomUUID();
+        LocalDateTime ahora = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(estado -> {
+            offsetPublicacionRepository.crearSiNoExiste(nombre, ahora);
+            offsetPublicacionRepository.crearSiNoExiste(nombre, ahora);
+            offsetPublicacionRepository.avanzar(nombre, 100, 2, ahora);
+            offsetPublicacionRepository.avanzar(nombre, 50, 3, ahora);
+        });
+
+        OffsetPublicacion offset = offsetPublicacionRepository.findById(nombre).orElseThrow();
+        assertEquals(100, offset.getUltimoEventoId());
+        assertEquals(5, offset.getPublicados());
+    }
+
+    @Test
+    @DisplayName("Si el destino falla los eventos siguen pendientes")
+    void destinoFalla_eventosQuedanPendientes() {
+        TransaccionResponseDTO deposito = transaccionService.depositar(new DepositoRequestDTO(cuentaA.getId(), new BigDecimal("10")));
+
+        DestinoEventos caido = new DestinoEventos() {
+            @Override
+            public String nombre() {
+                return "caido";
+            }
+
+            @Override
+            public void publicar(List<EventoOutbox> eventos) {
+                throw new IllegalStateException("Destino no disponible");
+            }
+        };
+        OutboxService conDestinoCaido = new OutboxService(eventoOutboxRepository, offsetPublicacionRepository,
+                caido, transactionTemplate, registry, jsonMapper);
+        // Sin inicializar: los gauges del outbox son del bean, y este despachador nunca llega a publicar
+        ReflectionTestUtils.setField(conDestinoCaido, "lote", 500);
+
+        assertEquals(0, conDestinoCaido.despachar());
+        assertNull(evento(deposito.id()).getPublicadoEn());
+        assertTrue(offsetPublicacionRepository.findById("caido").isEmpty());
+
+        assertTrue(outboxService.despachar() >= 1);
+        assertNotNull(evento(deposito.id()).getPublicadoEn());
+    }
+
+    @Test
+    @DisplayName("Un despachador salta los eventos que otro tiene bloqueados")
+    void despachadoresConcurrentes_saltanEventosBloqueados() throws Exception {
+        outboxService.despachar();
+        transaccionService.depositar(new DepositoRequestDTO(cuentaA.getId(), new BigDecimal("1")));
+        transaccionService.depositar(new DepositoRequestDTO(cuentaA.getId(), new BigDecimal("2")));
+
+        CountDownLatch bloqueado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Set<Long>> primero = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(estado -> {
+            Set<Long> ids = ids(eventoOutboxRepository.findPendientesForUpdate(Limit.of(1)));
+            bloqueado.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ids;
+        }));
+
+        assertTrue(bloqueado.await(10, TimeUnit.SECONDS));
+        Set<Long> segundo = transactionTemplate.execute(estado ->
+                ids(eventoOutboxRepository.findPendientesForUpdate(Limit.of(10))));
+        liberar.countDown();
+
+        Set<Long> tomadosPorPrimero = primero.get(10, TimeUnit.SECONDS);
+        assertEquals(1, tomadosPorPrimero.size());
+        assertEquals(1, segundo.size());
+        assertTrue(segundo.stream().noneMatch(tomadosPorPrimero::contains));
+    }
+
+    private EventoOutbox evento(Long transaccionId) {
+        return eventoOutboxRepository.findAll().stream()
+                .filter(e -> e.getTransaccionId().equals(transaccionId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Set<Long> ids(List<EventoOutbox> eventos) {
+        return eventos.stream().map(EventoOutbox::getId).collect(Collectors.toSet());
+    }
+
+    private Cuenta crearCuenta(Cliente cliente) {
+        Cuenta cuenta = DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, new BigDecimal("1000"));
+        cuenta.setSaldoMinimo(BigDecimal.ZERO);
+        cuenta.setLimiteRetiroDiario(new BigDecimal("100000"));
+        cuenta.setLimiteTransferencia(new BigDecimal("100000"));
+        return cuentaRepository.saveAndFlush(cuenta);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.response.PaginaResponseDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PaginacionTransaccionesTest {
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Cuenta cuenta;
+    private final List<Long> idsCreados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente paginación"));
+        cuenta = cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO));
+
+        for (int i = 0; i < 7; i++) {
+            idsCreados.add(transaccionService.depositar(new DepositoRequestDTO(cuenta.getId(), BigDecimal.TEN)).id());
+        }
+    }
+
+    @Test
+    @DisplayName("Recorre todas las transacciones de la cuenta sin repetir ni omitir")
+    void listarPorCuenta_recorreTodasLasPaginas() {
+        List<Long> recorridos = new ArrayList<>();
+        List<Integer> tamanios = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            PaginaResponseDTO<TransaccionResponseDTO> pagina =
+                    transaccionService.listarTransaccionesPorCuenta(cuenta.getId(), cursor, 3, false);
+            pagina.contenido().forEach(transaccion -> recorridos.add(transaccion.id()));
+            tamanios.add(pagina.contenido().size());
+            cursor = pagina.siguiente();
+        } while (cursor != null);
+
+        assertEquals(List.of(3, 3, 1), tamanios);
+        assertEquals(idsCreados.reversed(), recorridos);
+    }
+
+    @Test
+    @DisplayName("El tamaño de página se limita al máximo configurado")
+    void listar_limitaTamanioMaximo() {
+        PaginaResponseDTO<TransaccionResponseDTO> pagina = transaccionService.listarTransacciones(null, 1_000_000);
+
+        assertEquals(500, pagina.tamanio());
+    }
+
+    @Test
+    @DisplayName("Rechaza un cursor mal formado")
+    void listar_cursorInvalido() {
+        assertThrows(ValidacionException.class,
+                () -> transaccionService.listarTransaccionesPorCuenta(cuenta.getId(), "no-es-un-cursor", 3, false));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.mapper.CursorMapper;
+import com.example.banco.mapper.TransaccionMapper;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.repository.TransaccionRepository;
+import com.example.banco.support.DatosPrueba;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("carga")
+@SpringBootTest
+class ProyeccionesBenchmarkTest {
+
+    private static final int TRANSACCIONES = 2000;
+    private static final int TAMANIO_PAGINA = 500;
+    private static final int ITERACIONES = 50;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Proyección a DTO contra hidratación de entidades + mapper en una página de transacciones")
+    void proyeccionContraEntidades(TestReporter reporte) {
+        Long cuentaId = sembrar();
+
+        Supplier<List<TransaccionResponseDTO>> entidades = () -> entityManager.createQuery(
+                        "SELECT t FROM Transaccion t WHERE (t.cuentaOrigen.id = :cuentaId OR t.cuentaDestino.id = :cuentaId) " +
+                                "ORDER BY t.fechaHora DESC, t.id DESC", Transaccion.class)
+                .setParameter("cuentaId", cuentaId)
+                .setMaxResults(TAMANIO_PAGINA)
+                .getResultList().stream()
+                .map(TransaccionMapper::toResponseDto)
+                .toList();
+        Supplier<List<TransaccionResponseDTO>> proyeccion = () -> transaccionRepository.findPaginaByCuentaId(
+                cuentaId, CursorMapper.INICIO.fechaHora(), CursorMapper.INICIO.id(), TAMANIO_PAGINA);
+
+        assertEquals(ejecutar(entidades), ejecutar(proyeccion));
+
+        medir(reporte, "entidades + mapper", entidades);
+        medir(reporte, "proyección DTO", proyeccion);
+    }
+
+    private void medir(TestReporter reporte, String nombre, Supplier<List<TransaccionResponseDTO>> consulta) {
+        for (int i = 0; i < ITERACIONES; i++) {
+            ejecutar(consulta);
+        }
+
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().threadId();
+        long bytesInicio = hilos.getThreadAllocatedBytes(hilo);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            ejecutar(consulta);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = hilos.getThreadAllocatedBytes(hilo) - bytesInicio;
+
+        reporte.publishEntry(nombre, String.format("%.2f ms/página, %d KB asignados/página",
+                nanos / 1_000_000.0 / ITERACIONES, bytes / 1024 / ITERACIONES));
+    }
+
+    private List<TransaccionResponseDTO> ejecutar(Supplier<List<TransaccionResponseDTO>> consulta) {
+        return transactionTemplate.execute(status -> consulta.get());
+    }
+
+    private Long sembrar() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente proyecciones"));
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cuentas.add(cuentaRepository.save(DatosPrueba.cuenta(cliente, TipoCuenta.CORRIENTE, BigDecimal.ZERO)));
+        }
+
+        List<Transaccion> transacciones = new ArrayList<>();
+        for (int i = 0; i < TRANSACCIONES; i++) {
+            Transaccion transaccion = new Transaccion();
+            transaccion.setTipoTransaccion(TipoTransaccion.TRANSFERENCIA);
+            transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+            transaccion.setCuentaOrigen(cuentas.getFirst());
+            transaccion.setCuentaDestino(cuentas.get(1 + i % 2));
+            transaccion.setMonto(BigDecimal.TEN);
+            transaccion.setFechaHora(LocalDateTime.now());
+            transacciones.add(transaccion);
+        }
+        transaccionRepository.saveAll(transacciones);
+        return cuentas.getFirst().getId();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.CuentaRequestDTO;
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
+import com.example.banco.dto.request.RetiroRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.ResumenCuentaDTO;
+import com.example.banco.dto.response.TotalMovimientoDTO;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.Transaccion;
+import com.example.banco.model.enums.EstadoTransaccion;
+import com.example.banco.model.enums.ModoLote;
+import com.example.banco.model.enums.TipoCuenta;
+import com.example.banco.model.enums.TipoTransaccion;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ICuentaService;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ResumenCuentaTest {
+
+    @Autowired
+    private ResumenCuentaService resumenCuentaService;
+
+    @Autowired
+    private ICuentaService cuentaService;
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cuenta cuentaA;
+    private Cuenta cuentaB;
+
+    @BeforeEach
+    void setUp() {
+        cuentaA = crearCuenta();
+        cuentaB = crearCuenta();
+    }
+
+    @Test
+    @DisplayName("Los totales de cualquier rango coinciden con sumar las transacciones una a una")
+    void resumen_coincideConLasTransacciones() {
+        List<Transaccion> transacciones = List.of(
+                transaccion(TipoTransaccion.DEPOSITO, null, cuentaA, "10", LocalDateTime.of(2001, 1, 31, 23, 59)),
+                transaccion(TipoTransaccion.DEPOSITO, null, cuentaA, "20", LocalDateTime.of(2001, 2, 1, 0, 0)),
+                transaccion(TipoTransaccion.DEPOSITO, null, cuentaA, "30", LocalDateTime.of(2001, 2, 15, 12, 0)),
+                transaccion(TipoTransaccion.TRANSFERENCIA, cuentaA, cuentaB, "5", LocalDateTime.of(2001, 2, 15, 13, 0)),
+                transaccion(TipoTransaccion.RETIRO, cuentaA, null, "7", LocalDateTime.of(2001, 3, 10, 9, 0)),
+                transaccion(TipoTransaccion.DEPOSITO, null, cuentaA, "40", LocalDateTime.of(2001, 3, 31, 18, 0)),
+                transaccion(TipoTransaccion.DEPOSITO, null, cuentaA, "50", LocalDateTime.of(2001, 5, 2, 8, 0)));
+        // En dos tandas, para que la segunda actualice filas ya creadas
+        transactionTemplate.executeWithoutResult(s -> resumenCuentaService.registrar(transacciones.subList(0, 3)));
+        transactionTemplate.executeWithoutResult(s -> resumenCuentaService.registrar(transacciones.subList(3, 7)));
+
+        List<LocalDate[]> rangos = List.of(
+                rango("2001-01-01", "2001-12-31"),
+                rango("2001-01-31", "2001-03-10"),
+                rango("2001-02-01", "2001-02-28"),
+                rango("2001-02-10", "2001-02-20"),
+                rango("2001-02-16", "2001-03-30"),
+                rango("2001-03-31", "2001-05-02"),
+                rango("2001-04-01", "2001-04-30"));
+        for (LocalDate[] rango : rangos) {
+            ResumenCuentaDTO resumen = cuentaService.resumen(cuentaA.getId(), rango[0], rango[1]);
+            assertEquals(esperado(transacciones, cuentaA.getId(), rango[0], rango[1]), normalizar(resumen.totales()),
+                    "rango " + rango[0] + " a " + rango[1]);
+        }
+
+        List<TotalMovimientoDTO> destino = cuentaService.resumen(cuentaB.getId(),
+                LocalDate.parse("2001-02-15"), LocalDate.parse("2001-02-15")).totales();
+        assertEquals(List.of("TRANSFERENCIA CREDITO 1 5"), normalizar(destino));
+    }
+
+    @Test
+    @DisplayName("Las operaciones del servicio, incluidos los lotes, actualizan los totales")
+    void operaciones_actualizanResumen() {
+        transaccionService.depositar(new DepositoRequestDTO(cuentaA.getId(), new BigDecimal("100")));
+        transaccionService.retirar(new RetiroRequestDTO(cuentaA.getId(), new BigDecimal("30")));
+        transaccionService.transferir(new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("20")));
+        transaccionService.transferirLote(new LoteTransferenciaRequestDTO(ModoLote.MEJOR_ESFUERZO, List.of(
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("1")),
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("2")),
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("999999")))));
+
+        LocalDate hoy = LocalDate.now();
+        assertEquals(List.of("DEPOSITO CREDITO 1 100", "RETIRO DEBITO 1 30", "TRANSFERENCIA DEBITO 3 23"),
+                normalizar(cuentaService.resumen(cuentaA.getId(), hoy.minusYears(1), hoy).totales()));
+        assertEquals(List.of("TRANSFERENCIA CREDITO 3 23"),
+                normalizar(cuentaService.resumen(cuentaB.getId(), hoy, hoy).totales()));
+    }
+
+    @Test
+    @DisplayName("Rechaza un rango con desde posterior a hasta")
+    void resumen_rangoInvertido() {
+        assertThrows(ValidacionException.class, () -> cuentaService.resumen(cuentaA.getId(),
+                LocalDate.parse("2001-02-02"), LocalDate.parse("2001-02-01")));
+    }
+
+    private List<String> esperado(List<Transaccion> transacciones, Long cuentaId, LocalDate desde, LocalDate hasta) {
+        Map<String, TotalMovimientoDTO> totales = new TreeMap<>();
+        for (Transaccion t : transacciones) {
+            LocalDate dia = t.getFechaHora().toLocalDate();
+            if (dia.isBefore(desde) || dia.isAfter(hasta)) {
+                continue;
+            }
+            if (t.getCuentaOrigen() != null && t.getCuentaOrigen().getId().equals(cuentaId)) {
+                sumar(totales, new TotalMovimientoDTO(t.getTipoTransaccion().name(), "DEBITO", 1, t.getMonto()));
+            }
+            if (t.getCuentaDestino() != null && t.getCuentaDestino().getId().equals(cuentaId)) {
+                sumar(totales, new TotalMovimientoDTO(t.getTipoTransaccion().name(), "CREDITO", 1, t.getMonto()));
+            }
+        }
+        return normalizar(new ArrayList<>(totales.values()));
+    }
+
+    private void sumar(Map<String, TotalMovimientoDTO> totales, TotalMovimientoDTO movimiento) {
+        totales.merge(movimiento.tipoTransaccion() + " " + movimiento.tipoAsiento(), movimiento,
+                (a, b) -> new TotalMovimientoDTO(a.tipoTransaccion(), a.tipoAsiento(), a.cantidad() + b.cantidad(),
+                        a.monto().add(b.monto())));
+    }
+
+    private List<String> normalizar(List<TotalMovimientoDTO> totales) {
+        return totales.stream()
+                .map(t -> t.tipoTransaccion() + " " + t.tipoAsiento() + " " + t.cantidad() + " "
+                        + t.monto().stripTrailingZeros().toPlainString())
+                .sorted()
+                .toList();
+    }
+
+    private LocalDate[] rango(String desde, String hasta) {
+        return new LocalDate[]{LocalDate.parse(desde), LocalDate.parse(hasta)};
+    }
+
+    private Transaccion transaccion(TipoTransaccion tipo, Cuenta origen, Cuenta destino, String monto, LocalDateTime fechaHora) {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setTipoTransaccion(tipo);
+        transaccion.setEstado(EstadoTransaccion.COMPLETADA);
+        transaccion.setCuentaOrigen(origen);
+        transaccion.setCuentaDestino(destino);
+        transaccion.setMonto(new BigDecimal(monto));
+        transaccion.setFechaHora(fechaHora);
+        return transaccion;
+    }
+
+    private Cuenta crearCuenta() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente resumen"));
+
+        Long id = cuentaService.crearCuenta(new CuentaRequestDTO(cliente.getId(), TipoCuenta.CORRIENTE, new BigDecimal("1000"))).id();
+        return cuentaRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.DepositoRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.TransaccionResponseDTO;
+import com.example.banco.exception.CuentaOcupadaException;
+import com.example.banco.exception.MotivoRechazo;
+import com.example.banco.exception.ValidacionException;
+import com.example.banco.metricas.ContadorSentencias;
+import com.example.banco.metricas.MetricasServiciosAspect;
+import com.example.banco.service.interfaces.ITransaccionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransaccionCarrilesServiceTest {
+
+    @Mock
+    private TransaccionService transaccionService;
+
+    private SimpleMeterRegistry registry;
+    private TransaccionCarrilesService carriles;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        carriles = new TransaccionCarrilesService(transaccionService, registry);
+        ReflectionTestUtils.setField(carriles, "cantidad", 1);
+        ReflectionTestUtils.setField(carriles, "capacidad", 1);
+        ReflectionTestUtils.invokeMethod(carriles, "inicializar");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(carriles, "detener");
+    }
+
+    @Test
+    @DisplayName("Con el carril ocupado y la cola llena la operación se rechaza sin ejecutarse")
+    void carrilLleno_rechazaOperacion() throws Exception {
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(transaccionService.depositar(any())).thenAnswer(invocacion -> {
+            enCurso.countDown();
+            liberar.await(10, TimeUnit.SECONDS);
+            return null;
+        });
+        DepositoRequestDTO deposito = new DepositoRequestDTO(7L, BigDecimal.TEN);
+
+        CompletableFuture<TransaccionResponseDTO> primera = CompletableFuture.supplyAsync(() -> carriles.depositar(deposito));
+        assertTrue(enCurso.await(10, TimeUnit.SECONDS));
+        CompletableFuture<TransaccionResponseDTO> encolada = CompletableFuture.supplyAsync(() -> carriles.depositar(deposito));
+        while (registry.get("banco.carriles.en-cola").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(CuentaOcupadaException.class, () -> carriles.depositar(deposito));
+        assertEquals(1, registry.get("banco.carriles.rechazos").counter().count());
+
+        liberar.countDown();
+        primera.get(10, TimeUnit.SECONDS);
+        encolada.get(10, TimeUnit.SECONDS);
+        verify(transaccionService, times(2)).depositar(deposito);
+    }
+
+    @Test
+    @DisplayName("Las operaciones corren en el hilo del carril y sus excepciones llegan al llamador")
+    void operacion_correEnCarrilYPropagaExcepciones() {
+        AtomicReference<String> hilo = new AtomicReference<>();
+        when(transaccionService.transferir(any())).thenAnswer(invocacion -> {
+            hilo.set(Thread.currentThread().getName());
+            throw new ValidacionException(MotivoRechazo.SALDO_INSUFICIENTE, "Saldo insuficiente");
+        });
+
+        assertThrows(ValidacionException.class,
+                () -> carriles.transferir(new TransferenciaRequestDTO(1L, 2L, BigDecimal.TEN)));
+        assertEquals("carril-0", hilo.get());
+    }
+
+    @Test
+    @DisplayName("Las sentencias que ejecuta el carril se suman al conteo del llamador")
+    void sentenciasDelCarril_cuentanEnElLlamador() {
+        ContadorSentencias inspector = new ContadorSentencias();
+        when(transaccionService.depositar(any())).thenAnswer(invocacion -> {
+            inspector.inspect("select saldo from cuentas where id = ? for update");
+            inspector.inspect("insert into transacciones values (?)");
+            return null;
+        });
+
+        ContadorSentencias.iniciar();
+        try {
+            carriles.depositar(new DepositoRequestDTO(7L, BigDecimal.TEN));
+            assertEquals(2, ContadorSentencias.cantidad());
+        } finally {
+            ContadorSentencias.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Una interrupción no abandona la operación encolada: se espera su resultado")
+    void interrupcion_esperaElResultado() throws Exception {
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        TransaccionResponseDTO respuesta = mock(TransaccionResponseDTO.class);
+        when(transaccionService.depositar(any())).thenAnswer(invocacion -> {
+            enCurso.countDown();
+            liberar.await(10, TimeUnit.SECONDS);
+            return respuesta;
+        });
+
+        AtomicReference<TransaccionResponseDTO> obtenida = new AtomicReference<>();
+        AtomicReference<Boolean> interrumpido = new AtomicReference<>();
+        Thread llamador = new Thread(() -> {
+            obtenida.set(carriles.depositar(new DepositoRequestDTO(7L, BigDecimal.TEN)));
+            interrumpido.set(Thread.currentThread().isInterrupted());
+        });
+        llamador.start();
+        assertTrue(enCurso.await(10, TimeUnit.SECONDS));
+        llamador.interrupt();
+        liberar.countDown();
+        llamador.join(10_000);
+
+        assertSame(respuesta, obtenida.get());
+        assertTrue(interrumpido.get());
+    }
+
+    @Test
+    @DisplayName("Las métricas de servicio no miden el decorador, solo a TransaccionService")
+    void metricasServicios_noMidenElDecorador() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(carriles);
+        factory.addAspect(new MetricasServiciosAspect(registry));
+        ITransaccionService medido = factory.getProxy();
+        when(transaccionService.transferir(any()))
+                .thenThrow(new ValidacionException(MotivoRechazo.SALDO_INSUFICIENTE, "Saldo insuficiente"));
+
+        assertThrows(ValidacionException.class,
+                () -> medido.transferir(new TransferenciaRequestDTO(1L, 2L, BigDecimal.TEN)));
+
+        assertNull(registry.find("banco.servicio").timer());
+        assertNull(registry.find("banco.rechazos").counter());
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción abierta la operación corre en el hilo del llamador")
+    void transaccionActiva_ejecutaEnElLlamador() {
+        AtomicReference<Thread> hilo = new AtomicReference<>();
+        when(transaccionService.depositar(any())).thenAnswer(invocacion -> {
+            hilo.set(Thread.currentThread());
+            return null;
+        });
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            carriles.depositar(new DepositoRequestDTO(7L, BigDecimal.TEN));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertSame(Thread.currentThread(), hilo.get());
+    }
+}
@@ -10,7 +10,6 @@ import com.example.banco.model.Cuenta;
 import com.example.banco.model.Transaccion;
 import com.example.banco.model.enums.EstadoCuenta;
 import com.example.banco.model.enums.TipoCuenta;
-import com.example.banco.model.enums.TipoTransaccion;
 import com.example.banco.repository.CuentaRepository;
 import com.example.banco.repository.TransaccionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,8 +22,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,6 +37,24 @@ class TransaccionServiceTest {
     @Mock
     private CuentaRepository cuentaRepository;
 
+    @Mock
+    private UsoDiarioService usoDiarioService;
+
+    @Mock
+    private CuentaCacheService cuentaCacheService;
+
+    @Mock
+    private LibroMayorService libroMayorService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ArchivoTransaccionesService archivoTransaccionesService;
+
+    @Mock
+    private ResumenCuentaService resumenCuentaService;
+
     @InjectMocks
     private TransaccionService transaccionService;
 
@@ -81,7 +96,7 @@ class TransaccionServiceTest {
         void depositar_exitoso() {
             DepositoRequestDTO dto = new DepositoRequestDTO(1L, new BigDecimal("1000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaDestino));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaDestino));
 
             TransaccionResponseDTO resultado = transaccionService.depositar(dto);
 
@@ -96,7 +111,7 @@ class TransaccionServiceTest {
         void depositar_cuentaNoExiste() {
             DepositoRequestDTO dto = new DepositoRequestDTO(99L, new BigDecimal("1000"));
 
-            when(cuentaRepository.findById(99L)).thenReturn(Optional.empty());
+            when(cuentaRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
             EntidadNoEncontradaException ex = assertThrows(EntidadNoEncontradaException.class,
                     () -> transaccionService.depositar(dto));
@@ -111,7 +126,7 @@ class TransaccionServiceTest {
             cuentaDestino.setEstadoCuenta(EstadoCuenta.BLOQUEADA);
             DepositoRequestDTO dto = new DepositoRequestDTO(2L, new BigDecimal("1000"));
 
-            when(cuentaRepository.findById(2L)).thenReturn(Optional.of(cuentaDestino));
+            when(cuentaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(cuentaDestino));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.depositar(dto));
@@ -130,10 +145,8 @@ class TransaccionServiceTest {
         void retirar_exitoso() {
             RetiroRequestDTO dto = new RetiroRequestDTO(1L, new BigDecimal("2000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
-            when(transaccionRepository.findByCuentaOrigenIdAndFechaHoraBetween(
-                    anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(List.of());
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(usoDiarioService.montoRetiradoHoy(1L)).thenReturn(BigDecimal.ZERO);
 
             TransaccionResponseDTO resultado = transaccionService.retirar(dto);
 
@@ -141,6 +154,7 @@ class TransaccionServiceTest {
             assertEquals(new BigDecimal("8000"), cuentaOrigen.getSaldo());
             verify(transaccionRepository).save(any(Transaccion.class));
             verify(cuentaRepository).save(cuentaOrigen);
+            verify(usoDiarioService).registrarRetiro(1L, new BigDecimal("2000"));
         }
 
         @Test
@@ -148,7 +162,7 @@ class TransaccionServiceTest {
         void retirar_saldoInsuficiente() {
             RetiroRequestDTO dto = new RetiroRequestDTO(1L, new BigDecimal("15000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.retirar(dto));
@@ -162,7 +176,7 @@ class TransaccionServiceTest {
         void retirar_violaSaldoMinimo() {
             RetiroRequestDTO dto = new RetiroRequestDTO(1L, new BigDecimal("9600"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.retirar(dto));
@@ -176,20 +190,15 @@ class TransaccionServiceTest {
         void retirar_excedeLimiteDiario() {
             RetiroRequestDTO dto = new RetiroRequestDTO(1L, new BigDecimal("6000"));
 
-            Transaccion retiroPrevio = new Transaccion();
-            retiroPrevio.setTipoTransaccion(TipoTransaccion.RETIRO);
-            retiroPrevio.setMonto(new BigDecimal("45000"));
-
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
-            when(transaccionRepository.findByCuentaOrigenIdAndFechaHoraBetween(
-                    anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(List.of(retiroPrevio));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(usoDiarioService.montoRetiradoHoy(1L)).thenReturn(new BigDecimal("45000"));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.retirar(dto));
 
             System.out.println("Mensaje actual: " + ex.getMessage());
             assertTrue(ex.getMessage().toLowerCase().contains("límite diario"));
+            verify(usoDiarioService, never()).registrarRetiro(anyLong(), any());
         }
     }
 
@@ -202,11 +211,9 @@ class TransaccionServiceTest {
         void transferir_exitoso() {
             TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1L, 2L, new BigDecimal("3000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
-            when(cuentaRepository.findById(2L)).thenReturn(Optional.of(cuentaDestino));
-            when(transaccionRepository.findByCuentaOrigenIdAndFechaHoraBetween(
-                    anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(List.of());
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(cuentaDestino));
+            when(usoDiarioService.montoRetiradoHoy(1L)).thenReturn(BigDecimal.ZERO);
 
             TransaccionResponseDTO resultado = transaccionService.transferir(dto);
 
@@ -223,7 +230,7 @@ class TransaccionServiceTest {
         void transferir_mismaCuenta() {
             TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1L, 1L, new BigDecimal("1000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.transferir(dto));
@@ -238,8 +245,8 @@ class TransaccionServiceTest {
             cuentaDestino.setEstadoCuenta(EstadoCuenta.BLOQUEADA);
             TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1L, 2L, new BigDecimal("1000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
-            when(cuentaRepository.findById(2L)).thenReturn(Optional.of(cuentaDestino));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(cuentaDestino));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.transferir(dto));
@@ -253,8 +260,8 @@ class TransaccionServiceTest {
         void transferir_excedeLimite() {
             TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1L, 2L, new BigDecimal("150000"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
-            when(cuentaRepository.findById(2L)).thenReturn(Optional.of(cuentaDestino));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(cuentaDestino));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.transferir(dto));
@@ -268,8 +275,8 @@ class TransaccionServiceTest {
         void transferir_violaSaldoMinimo() {
             TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1L, 2L, new BigDecimal("9600"));
 
-            when(cuentaRepository.findById(1L)).thenReturn(Optional.of(cuentaOrigen));
-            when(cuentaRepository.findById(2L)).thenReturn(Optional.of(cuentaDestino));
+            when(cuentaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cuentaOrigen));
+            when(cuentaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(cuentaDestino));
 
             ValidacionException ex = assertThrows(ValidacionException.class,
                     () -> transaccionService.transferir(dto));
@@ -0,0 +1,112 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.exception.CuentaOcupadaException;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransferenciaConcurrenteTest {
+
+    private static final int HILOS = 8;
+    // Alcanza para cruzar los bloqueos de las cuatro cuentas sin convertir el test en una prueba de carga
+    private static final int OPERACIONES_POR_HILO = 25;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000");
+    private static final BigDecimal MONTO = new BigDecimal("10");
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    @DisplayName("Transferencias cruzadas concurrentes no pierden actualizaciones ni generan deadlocks")
+    void transferenciasCruzadas_sinPerdidasNiDeadlocks(TestReporter reporte) throws Exception {
+        List<Cuenta> cuentas = crearCuentas(4);
+        int[] neto = new int[cuentas.size()];
+        AtomicInteger ocupadas = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<int[]>> resultados = new ArrayList<>();
+        long inicio = System.nanoTime();
+
+        for (int h = 0; h < HILOS; h++) {
+            resultados.add(executor.submit(() -> {
+                int[] netoHilo = new int[cuentas.size()];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+                    int origen = random.nextInt(cuentas.size());
+                    int destino = (origen + 1 + random.nextInt(cuentas.size() - 1)) % cuentas.size();
+                    try {
+                        transaccionService.transferir(new TransferenciaRequestDTO(
+                                cuentas.get(origen).getId(), cuentas.get(destino).getId(), MONTO));
+                        netoHilo[origen]--;
+                        netoHilo[destino]++;
+                    } catch (CuentaOcupadaException e) {
+                        ocupadas.incrementAndGet();
+                    }
+                }
+                return netoHilo;
+            }));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Las transferencias no terminaron: posible deadlock");
+        long duracionNanos = System.nanoTime() - inicio;
+
+        for (Future<int[]> resultado : resultados) {
+            int[] netoHilo = resultado.get();
+            for (int i = 0; i < neto.length; i++) {
+                neto[i] += netoHilo[i];
+            }
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < cuentas.size(); i++) {
+            BigDecimal saldo = cuentaRepository.findById(cuentas.get(i).getId()).orElseThrow().getSaldo();
+            assertEquals(0, SALDO_INICIAL.add(MONTO.multiply(BigDecimal.valueOf(neto[i]))).compareTo(saldo),
+                    "Actualización perdida en la cuenta " + cuentas.get(i).getId());
+            total = total.add(saldo);
+        }
+        assertEquals(0, SALDO_INICIAL.multiply(BigDecimal.valueOf(cuentas.size())).compareTo(total));
+
+        int operaciones = HILOS * OPERACIONES_POR_HILO;
+        reporte.publishEntry("bloqueoOrdenado", String.format("%d ops en %d ms (%.0f ops/s), %d rechazadas por timeout",
+                operaciones, TimeUnit.NANOSECONDS.toMillis(duracionNanos),
+                operaciones / (duracionNanos / 1_000_000_000.0), ocupadas.get()));
+    }
+
+    private List<Cuenta> crearCuentas(int cantidad) {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente concurrencia"));
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            cuentas.add(cuentaRepository.save(DatosPrueba.cuentaOperable(cliente, SALDO_INICIAL)));
+        }
+        return cuentas;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.banco.service;
+
+import com.example.banco.dto.request.LoteTransferenciaRequestDTO;
+import com.example.banco.dto.request.TransferenciaRequestDTO;
+import com.example.banco.dto.response.LoteTransferenciaResponseDTO;
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.ModoLote;
+import com.example.banco.repository.ClienteRepository;
+import com.example.banco.repository.CuentaRepository;
+import com.example.banco.service.interfaces.ITransaccionService;
+import com.example.banco.support.CapturaSentencias;
+import com.example.banco.support.DatosPrueba;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransferenciaLoteTest {
+
+    @Autowired
+    private ITransaccionService transaccionService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Cuenta cuentaA;
+    private Cuenta cuentaB;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente lote"));
+
+        cuentaA = crearCuenta(cliente, new BigDecimal("10000"));
+        cuentaB = crearCuenta(cliente, new BigDecimal("10000"));
+    }
+
+    @Test
+    @DisplayName("Mejor esfuerzo aplica las transferencias válidas y reporta las fallidas")
+    void mejorEsfuerzo_aplicaValidas() {
+        LoteTransferenciaRequestDTO lote = new LoteTransferenciaRequestDTO(ModoLote.MEJOR_ESFUERZO, List.of(
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("1000")),
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("50000")),
+                new TransferenciaRequestDTO(cuentaB.getId(), -1L, new BigDecimal("100")),
+                new TransferenciaRequestDTO(cuentaB.getId(), cuentaA.getId(), new BigDecimal("500"))
+        ));
+
+        LoteTransferenciaResponseDTO respuesta = transaccionService.transferirLote(lote);
+
+        assertTrue(respuesta.aplicado());
+        assertEquals(2, respuesta.exitosas());
+        assertEquals(2, respuesta.fallidas());
+        assertTrue(respuesta.resultados().get(0).exitosa());
+        assertNotNull(respuesta.resultados().get(0).transaccion().id());
+        assertFalse(respuesta.resultados().get(1).exitosa());
+        assertEquals("Cuenta no encontrada con id: -1", respuesta.resultados().get(2).error());
+        assertEquals(0, new BigDecimal("9500").compareTo(saldo(cuentaA)));
+        assertEquals(0, new BigDecimal("10500").compareTo(saldo(cuentaB)));
+    }
+
+    @Test
+    @DisplayName("Todo o nada no modifica saldos si alguna transferencia falla")
+    void todoONada_revierteSiAlgunaFalla() {
+        LoteTransferenciaRequestDTO lote = new LoteTransferenciaRequestDTO(ModoLote.TODO_O_NADA, List.of(
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("1000")),
+                new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), new BigDecimal("50000")),
+                new TransferenciaRequestDTO(cuentaB.getId(), cuentaA.getId(), new BigDecimal("500"))
+        ));
+
+        LoteTransferenciaResponseDTO respuesta = transaccionService.transferirLote(lote);
+
+        assertFalse(respuesta.aplicado());
+        assertEquals(0, respuesta.exitosas());
+        assertEquals("Revertida: el lote fue rechazado", respuesta.resultados().get(0).error());
+        assertEquals("No procesada: el lote fue rechazado", respuesta.resultados().get(2).error());
+        assertEquals(0, new BigDecimal("10000").compareTo(saldo(cuentaA)));
+        assertEquals(0, new BigDecimal("10000").compareTo(saldo(cuentaB)));
+    }
+
+    @Test
+    @DisplayName("Un lote grande se aplica completo respetando el orden")
+    void loteGrande_aplicaEnOrden() {
+        List<TransferenciaRequestDTO> transferencias = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            transferencias.add(new TransferenciaRequestDTO(cuentaA.getId(), cuentaB.getId(), BigDecimal.ONE));
+        }
+
+        LoteTransferenciaResponseDTO respuesta = transaccionService.transferirLote(
+                new LoteTransferenciaRequestDTO(ModoLote.TODO_O_NADA, transferencias));
+
+        assertTrue(respuesta.aplicado());
+        assertEquals(500, respuesta.exitosas());
+        assertEquals(0, new BigDecimal("9500").compareTo(saldo(cuentaA)));
+        assertEquals(0, new BigDecimal("10500").compareTo(saldo(cuentaB)));
+    }
+
+    @Test
+    @DisplayName("Las cuentas de un lote se bloquean en consultas acotadas, en orden de id")
+    void loteConMuchasCuentas_bloqueaPorBloques() {
+        Object servicio = AopTestUtils.getTargetObject(transaccionService);
+        ReflectionTestUtils.setField(servicio, "cuentasPorConsulta", 2);
+        List<Cuenta> cuentas = new ArrayList<>(List.of(cuentaA, cuentaB));
+        for (int i = 0; i < 3; i++) {
+            cuentas.add(crearCuenta(cuentaA.getCliente(), new BigDecimal("10000")));
+        }
+        List<TransferenciaRequestDTO> transferencias = new ArrayList<>();
+        for (int i = cuentas.size() - 1; i > 0; i--) {
+            transferencias.add(new TransferenciaRequestDTO(cuentas.get(i).getId(), cuentas.get(i - 1).getId(), BigDecimal.TEN));
+        }
+
+        List<String> sentencias;
+        try {
+            CapturaSentencias.iniciar();
+            assertTrue(transaccionService.transferirLote(
+                    new LoteTransferenciaRequestDTO(ModoLote.TODO_O_NADA, transferencias)).aplicado());
+        } finally {
+            sentencias = CapturaSentencias.detener();
+            ReflectionTestUtils.setField(servicio, "cuentasPorConsulta", 1000);
+        }
+
+        assertEquals(3, sentencias.stream()
+                .filter(sql -> sql.contains("from cuentas") && sql.contains("for update"))
+                .count());
+        assertEquals(0, new BigDecimal("10010").compareTo(saldo(cuentaA)));
+        assertEquals(0, new BigDecimal("9990").compareTo(saldo(cuentas.getLast())));
+    }
+
+    private BigDecimal saldo(Cuenta cuenta) {
+        return cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo();
+    }
+
+    private Cuenta crearCuenta(Cliente cliente, BigDecimal saldo) {
+        Cuenta cuenta = DatosPrueba.cuentaOperable(cliente, saldo);
+        cuenta.setLimiteTransferencia(new BigDecimal("20000"));
+        return cuentaRepository.save(cuenta);
+    }
+}
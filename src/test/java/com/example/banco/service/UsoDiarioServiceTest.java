@@ -0,0 +1,60 @@
+package com.example.banco.service;
+
+import com.example.banco.model.UsoDiarioCuenta;
+import com.example.banco.repository.UsoDiarioCuentaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsoDiarioServiceTest {
+
+    @Mock
+    private UsoDiarioCuentaRepository usoDiarioCuentaRepository;
+
+    @InjectMocks
+    private UsoDiarioService usoDiarioService;
+
+    @Test
+    @DisplayName("Cada consulta lee el acumulado de la base, sin copia en memoria")
+    void montoRetiradoHoy_leeSiempreLaBase() {
+        UsoDiarioCuenta uso = new UsoDiarioCuenta(1L, LocalDate.now(), new BigDecimal("1500"));
+        when(usoDiarioCuentaRepository.findByCuentaIdAndFecha(1L, LocalDate.now())).thenReturn(Optional.of(uso));
+
+        assertEquals(new BigDecimal("1500"), usoDiarioService.montoRetiradoHoy(1L));
+        assertEquals(new BigDecimal("1500"), usoDiarioService.montoRetiradoHoy(1L));
+
+        verify(usoDiarioCuentaRepository, times(2)).findByCuentaIdAndFecha(1L, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("El primer retiro del día crea el acumulador")
+    void registrarRetiro_primerRetiroDelDia() {
+        when(usoDiarioCuentaRepository.sumarRetiro(1L, LocalDate.now(), new BigDecimal("200"))).thenReturn(0);
+
+        usoDiarioService.registrarRetiro(1L, new BigDecimal("200"));
+
+        verify(usoDiarioCuentaRepository).save(any(UsoDiarioCuenta.class));
+    }
+
+    @Test
+    @DisplayName("Los retiros siguientes suman sobre el acumulador existente")
+    void registrarRetiro_acumuladorExistente() {
+        when(usoDiarioCuentaRepository.sumarRetiro(1L, LocalDate.now(), new BigDecimal("200"))).thenReturn(1);
+
+        usoDiarioService.registrarRetiro(1L, new BigDecimal("200"));
+
+        verify(usoDiarioCuentaRepository, never()).save(any());
+    }
+}
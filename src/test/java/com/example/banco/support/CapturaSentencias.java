@@ -0,0 +1,38 @@
+package com.example.banco.support;
+
+import com.example.banco.metricas.ContadorSentencias;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// StatementInspector registrado en la configuración de test: guarda el SQL que Hibernate
+// envía a la base entre iniciar() y detener() para poder inspeccionarlo (por ejemplo con EXPLAIN).
+// Solo captura el hilo que llamó a iniciar(): las tareas programadas también consultan la base.
+// Delega en ContadorSentencias para que el conteo por solicitud siga funcionando en los tests.
+public class CapturaSentencias implements StatementInspector {
+
+    private static final List<String> SENTENCIAS = new CopyOnWriteArrayList<>();
+    private static volatile Thread capturando;
+
+    private final ContadorSentencias contador = new ContadorSentencias();
+
+    @Override
+    public String inspect(String sql) {
+        if (capturando == Thread.currentThread()) {
+            SENTENCIAS.add(sql);
+        }
+        return contador.inspect(sql);
+    }
+
+    public static void iniciar() {
+        SENTENCIAS.clear();
+        capturando = Thread.currentThread();
+    }
+
+    public static List<String> detener() {
+        capturando = null;
+        return new ArrayList<>(SENTENCIAS);
+    }
+}
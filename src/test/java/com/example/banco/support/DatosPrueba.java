@@ -0,0 +1,48 @@
+package com.example.banco.support;
+
+import com.example.banco.model.Cliente;
+import com.example.banco.model.Cuenta;
+import com.example.banco.model.enums.EstadoCliente;
+import com.example.banco.model.enums.EstadoCuenta;
+import com.example.banco.model.enums.TipoCuenta;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Entidades sin guardar para armar los datos de cada test. El dni es un UUID completo: los tests
+// comparten la base en memoria y un dni repetido rompe la restricción única de clientes.
+//
+//     Cliente cliente = clienteRepository.save(DatosPrueba.cliente("Cliente lote"));
+//     Cuenta cuenta = cuentaRepository.save(DatosPrueba.cuentaOperable(cliente, new BigDecimal("10000")));
+public final class DatosPrueba {
+
+    private DatosPrueba() {
+    }
+
+    public static Cliente cliente(String nombre) {
+        Cliente cliente = new Cliente();
+        cliente.setNombre(nombre);
+        cliente.setDni(UUID.randomUUID().toString());
+        cliente.setEstado(EstadoCliente.ACTIVO);
+        return cliente;
+    }
+
+    public static Cuenta cuenta(Cliente cliente, TipoCuenta tipo, BigDecimal saldo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCliente(cliente);
+        cuenta.setTipoCuenta(tipo);
+        cuenta.setEstadoCuenta(EstadoCuenta.ACTIVA);
+        cuenta.setSaldo(saldo);
+        return cuenta;
+    }
+
+    // Cuenta corriente con los límites que exigen retirar y transferir
+    public static Cuenta cuentaOperable(Cliente cliente, BigDecimal saldo) {
+        Cuenta cuenta = cuenta(cliente, TipoCuenta.CORRIENTE, saldo);
+        cuenta.setLimiteRetiroDiario(new BigDecimal("50000"));
+        cuenta.setSaldoMinimo(new BigDecimal("500"));
+        cuenta.setMontoMinimoApertura(new BigDecimal("1000"));
+        cuenta.setLimiteTransferencia(new BigDecimal("100000"));
+        return cuenta;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.banco.support;
+
+import com.example.banco.metricas.ContadorSentencias;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Aserciones sobre la cantidad de sentencias SQL ejecutadas en el hilo del test. Sirve para tests
+// de servicio y para tests de controlador con MockMvc, que atiende la solicitud en el mismo hilo
+// (sin registrar PresupuestoSentenciasFilter, que abre su propia ventana de conteo).
+//
+//     PresupuestoSentencias.iniciar();
+//     clienteService.listarClientes();
+//     PresupuestoSentencias.assertQueryCount(1);
+public final class PresupuestoSentencias {
+
+    private PresupuestoSentencias() {
+    }
+
+    public static void iniciar() {
+        ContadorSentencias.iniciar();
+    }
+
+    // Verifica el conteo desde iniciar() y empieza una ventana nueva.
+    public static void assertQueryCount(int esperadas) {
+        int sentencias = ContadorSentencias.detener();
+        ContadorSentencias.iniciar();
+        assertEquals(esperadas, sentencias, "Cantidad de sentencias SQL");
+    }
+
+    public static void assertQueryCountAtMost(int maximo) {
+        int sentencias = ContadorSentencias.detener();
+        ContadorSentencias.iniciar();
+        assertTrue(sentencias <= maximo,
+                "Se ejecutaron " + sentencias + " sentencias SQL, el máximo es " + maximo);
+    }
+
+    public static void detener() {
+        ContadorSentencias.detener();
+    }
+}